@@ -1,43 +1,156 @@
 package com.dxy.library.exception;
 
-import org.apache.commons.lang3.exception.ExceptionUtils;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Type;
 
 /**
  * 支持格式化字符串的自定义运行时异常
+ * 消息在第一次调用 getMessage() 时才格式化，异常被捕获后直接丢弃时不产生格式化开销
+ * 字符串参数超过 maxArgumentLength 时截断，避免把超大的输入（例如整个json串）带进异常消息
+ * 其他类型的参数（对象、集合等）在格式化时才转为字符串并截断，第一次 getMessage() 之前异常会一直持有这些参数的引用
+ * 可以在多个线程间共享，并发调用 getMessage() 时得到相同的消息
+ * cause 通过 getCause() 获取，消息中不拼接 cause 的堆栈（打印异常时已经在 Caused by 中输出）；开启 stackless 后不采集堆栈
+ * 出错位置在第一次调用 getOffset()、getLine()、getColumn() 时才由子类从 cause 中提取
  * @author duanxinyuan
  * 2019/4/10 22:35
  */
 public class FormativeException extends RuntimeException {
 
-    private int[] indices;
-    private int usedCount;
-    private String message;
-    private transient Throwable throwable;
+    /**
+     * 每个参数在消息中最多保留的字符数，小于等于0表示不限制
+     * 默认1024，可通过系统属性 formative.exception.maxArgumentLength 配置
+     */
+    private static volatile int maxArgumentLength = Integer.getInteger("formative.exception.maxArgumentLength", 1024);
+
+    /**
+     * 是否不采集堆栈，适用于输入经常不合法、异常会被大量创建的场景
+     * 默认false，可通过系统属性 formative.exception.stackless 配置
+     */
+    private static volatile boolean stackless = Boolean.getBoolean("formative.exception.stackless");
+
+    private volatile String message;
+    /**
+     * 尚未格式化的模板和参数，格式化后置空
+     */
+    private transient volatile Pending pending;
+
+    /**
+     * 出错位置在输入中的偏移量（字符或字节），-1 表示未知
+     */
+    private long offset = -1;
+    /**
+     * 出错位置的行号，从1开始，-1 表示未知
+     */
+    private int line = -1;
+    /**
+     * 出错位置的列号，从1开始，-1 表示未知
+     */
+    private int column = -1;
+    /**
+     * 出错位置是否已从 cause 中提取
+     */
+    private transient volatile boolean locationResolved;
+    /**
+     * 反序列化的目标类型，取参数中的第一个 Type，没有时为 null
+     */
+    private transient Type targetType;
 
     public FormativeException() {
-        super();
+        super(null, null, true, !stackless);
     }
 
     public FormativeException(String message) {
+        super(message, null, true, !stackless);
         this.message = message;
     }
 
     public FormativeException(Throwable cause) {
-        this.throwable = cause;
-        this.message = ExceptionUtils.getStackTrace(throwable);
+        super(null, cause, true, !stackless);
     }
 
     public FormativeException(String format, Object... arguments) {
-        init(format, arguments);
-        fillInStackTrace();
-        this.message = formatMessage(format, arguments);
-        if (throwable != null) {
-            this.message += System.lineSeparator() + ExceptionUtils.getStackTrace(throwable);
-        }
+        super(null, findCause(format, arguments), true, !stackless);
+        this.pending = null == format ? null : new Pending(format, truncate(arguments));
+        this.targetType = findType(arguments);
+    }
+
+    public static int getMaxArgumentLength() {
+        return maxArgumentLength;
+    }
+
+    public static void setMaxArgumentLength(int maxArgumentLength) {
+        FormativeException.maxArgumentLength = maxArgumentLength;
+    }
+
+    public static boolean isStackless() {
+        return stackless;
+    }
+
+    public static void setStackless(boolean stackless) {
+        FormativeException.stackless = stackless;
+    }
+
+    public long getOffset() {
+        resolveLocation();
+        return offset;
+    }
+
+    public int getLine() {
+        resolveLocation();
+        return line;
     }
 
+    public int getColumn() {
+        resolveLocation();
+        return column;
+    }
+
+    public Type getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * 由子类根据 cause 调用 setLocation 设置出错位置，第一次获取出错位置时调用一次
+     */
+    protected void initLocation() {
+    }
+
+    /**
+     * 设置出错位置，在 initLocation 中调用
+     */
+    protected void setLocation(long offset, int line, int column) {
+        this.offset = offset;
+        this.line = line;
+        this.column = column;
+    }
+
+    protected void setTargetType(Type targetType) {
+        this.targetType = targetType;
+    }
+
+    /**
+     * 并发调用时可能各自格式化一次，结果相同；先发布 message 再清空 pending，读到 pending 为空时 message 一定可见
+     */
     @Override
     public String getMessage() {
+        String message = this.message;
+        if (message != null) {
+            return message;
+        }
+        Pending pending = this.pending;
+        Throwable cause = getCause();
+        if (pending != null) {
+            message = formatMessage(pending.format, pending.arguments);
+        } else {
+            message = this.message;
+            if (message != null || cause == null) {
+                return message;
+            }
+            message = cause.toString();
+        }
+        this.message = message;
+        this.pending = null;
         return message;
     }
 
@@ -48,30 +161,108 @@ public class FormativeException extends RuntimeException {
         return (message != null) ? (s + ": " + message) : s;
     }
 
-    private void init(String format, Object... arguments) {
-        final int len = Math.max(1, format == null ? 0 : format.length() >> 1); // divide by 2
-        this.indices = new int[len]; // LOG4J2-1542 ensure non-zero array length
+    private static String formatMessage(String format, Object[] arguments) {
+        final int len = Math.max(1, format.length() >> 1); // divide by 2
+        final int[] indices = new int[len]; // LOG4J2-1542 ensure non-zero array length
         final int placeholders = ParameterFormatter.countArgumentPlaceholders2(format, indices);
-        initThrowable(arguments, placeholders);
-        this.usedCount = Math.min(placeholders, arguments == null ? 0 : arguments.length);
-    }
-
-    private void initThrowable(final Object[] params, final int usedParams) {
-        if (params != null) {
-            final int argCount = params.length;
-            if (usedParams < argCount && this.throwable == null && params[argCount - 1] instanceof Throwable) {
-                this.throwable = (Throwable) params[argCount - 1];
+        final int usedCount = Math.min(placeholders, arguments == null ? 0 : arguments.length);
+        Object[] values = arguments;
+        if (maxArgumentLength > 0 && usedCount > 0) {
+            values = arguments.clone();
+            for (int i = 0; i < usedCount; i++) {
+                if (!(values[i] instanceof CharSequence)) {
+                    values[i] = truncate(ParameterFormatter.deepToString(values[i]));
+                }
             }
         }
-    }
-
-    private String formatMessage(String format, Object... arguments) {
         StringBuilder stringBuilder = new StringBuilder();
         if (indices[0] < 0) {
-            ParameterFormatter.formatMessage(stringBuilder, format, arguments, usedCount);
+            ParameterFormatter.formatMessage(stringBuilder, format, values, usedCount);
         } else {
-            ParameterFormatter.formatMessage2(stringBuilder, format, arguments, usedCount, indices);
+            ParameterFormatter.formatMessage2(stringBuilder, format, values, usedCount, indices);
         }
         return stringBuilder.toString();
     }
+
+    /**
+     * 延迟到第一次获取出错位置时调用 initLocation，并发访问下也只调用一次
+     */
+    private void resolveLocation() {
+        if (!locationResolved) {
+            synchronized (this) {
+                if (!locationResolved) {
+                    initLocation();
+                    locationResolved = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 最后一个参数是 Throwable 且没有对应的占位符时，作为 cause
+     */
+    private static Throwable findCause(String format, Object[] arguments) {
+        if (arguments == null || arguments.length == 0 || !(arguments[arguments.length - 1] instanceof Throwable)) {
+            return null;
+        }
+        if (ParameterFormatter.countArgumentPlaceholders(format) >= arguments.length) {
+            return null;
+        }
+        return (Throwable) arguments[arguments.length - 1];
+    }
+
+    private static Type findType(Object[] arguments) {
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                if (argument instanceof Type) {
+                    return (Type) argument;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 构造时即截断字符串参数，不再持有超大输入的引用
+     */
+    private static Object[] truncate(Object[] arguments) {
+        if (arguments == null || maxArgumentLength <= 0) {
+            return arguments;
+        }
+        Object[] truncated = arguments;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] instanceof CharSequence && ((CharSequence) arguments[i]).length() > maxArgumentLength) {
+                if (truncated == arguments) {
+                    truncated = arguments.clone();
+                }
+                truncated[i] = truncate((CharSequence) arguments[i]);
+            }
+        }
+        return truncated;
+    }
+
+    private static String truncate(CharSequence value) {
+        if (value == null || maxArgumentLength <= 0 || value.length() <= maxArgumentLength) {
+            return value == null ? null : value.toString();
+        }
+        return value.subSequence(0, maxArgumentLength) + "...(" + value.length() + " chars)";
+    }
+
+    private static final class Pending {
+        private final String format;
+        private final Object[] arguments;
+
+        private Pending(String format, Object[] arguments) {
+            this.format = format;
+            this.arguments = arguments;
+        }
+    }
+
+    /**
+     * 序列化前先格式化消息，参数不参与序列化
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
 }
@@ -0,0 +1,17 @@
+package com.dxy.library.json.benchmark;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * 基准测试使用的文档结构，id 位于开头，tail 位于末尾，用于对比按字段位置读取的开销
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+@Data
+public class Batch {
+    private String id;
+    private List<Record> records;
+    private String tail;
+}
@@ -0,0 +1,24 @@
+package com.dxy.library.json.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，默认开启 GC 分析（等同于 -prof gc），其余参数与 JMH 命令行一致
+ * 示例：java -jar json-benchmark/target/benchmarks.jar TreeBenchmark -p size=SMALL,MEDIUM
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
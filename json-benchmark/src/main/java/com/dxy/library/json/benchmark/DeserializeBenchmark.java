@@ -0,0 +1,75 @@
+package com.dxy.library.json.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dxy.library.json.fastjson.FastjsonUtil;
+import com.dxy.library.json.gson.GsonUtil;
+import com.dxy.library.json.jackson.JacksonUtil;
+
+/**
+ * 反序列化基准测试：from、fromList、fromMap
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DeserializeBenchmark {
+
+    @Benchmark
+    public Batch jacksonFrom(PayloadState state) {
+        return JacksonUtil.from(state.payload.getBatchJson(), Batch.class);
+    }
+
+    @Benchmark
+    public Batch gsonFrom(PayloadState state) {
+        return GsonUtil.from(state.payload.getBatchJson(), Batch.class);
+    }
+
+    @Benchmark
+    public Batch fastjsonFrom(PayloadState state) {
+        return FastjsonUtil.from(state.payload.getBatchJson(), Batch.class);
+    }
+
+    @Benchmark
+    public List<Record> jacksonFromList(PayloadState state) {
+        return JacksonUtil.fromList(state.payload.getListJson(), Record.class);
+    }
+
+    @Benchmark
+    public List<Record> gsonFromList(PayloadState state) {
+        return GsonUtil.fromList(state.payload.getListJson(), Record.class);
+    }
+
+    @Benchmark
+    public List<Record> fastjsonFromList(PayloadState state) {
+        return FastjsonUtil.fromList(state.payload.getListJson(), Record.class);
+    }
+
+    @Benchmark
+    public Map<String, Record> jacksonFromMap(PayloadState state) {
+        return JacksonUtil.fromMap(state.payload.getMapJson(), String.class, Record.class);
+    }
+
+    @Benchmark
+    public Map<String, Record> gsonFromMap(PayloadState state) {
+        return GsonUtil.fromMap(state.payload.getMapJson(), String.class, Record.class);
+    }
+
+    @Benchmark
+    public Map<String, Record> fastjsonFromMap(PayloadState state) {
+        return FastjsonUtil.fromMap(state.payload.getMapJson(), String.class, Record.class);
+    }
+}
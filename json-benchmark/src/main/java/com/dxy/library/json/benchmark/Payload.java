@@ -0,0 +1,88 @@
+package com.dxy.library.json.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.dxy.library.json.jackson.JacksonUtil;
+import lombok.Getter;
+
+/**
+ * 基准测试负载，三个库使用同一份生成结果，保证输入完全一致
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+@Getter
+public class Payload {
+    private static final String[] STATUSES = {"OK", "PENDING", "FAILED", "CANCELED", "REFUNDED"};
+    private static final String[] TAGS = {"vip", "new", "mobile", "web", "cn", "us", "beta"};
+
+    /**
+     * 反序列化后的文档
+     */
+    private final Batch batch;
+    /**
+     * Batch 序列化后的 JSON 对象
+     */
+    private final String batchJson;
+    /**
+     * records 序列化后的 JSON 数组
+     */
+    private final String listJson;
+    /**
+     * 以 id 为 key 的 JSON 对象（Map<String, Record>）
+     */
+    private final String mapJson;
+
+    private Payload(Batch batch, String batchJson, String listJson, String mapJson) {
+        this.batch = batch;
+        this.batchJson = batchJson;
+        this.listJson = listJson;
+        this.mapJson = mapJson;
+    }
+
+    /**
+     * 生成指定大小的负载，固定随机种子，多次运行结果一致
+     */
+    public static Payload generate(PayloadSize size) {
+        Random random = new Random(20181018L);
+        List<Record> records = new ArrayList<>();
+        Map<String, Record> map = new LinkedHashMap<>();
+        long bytes = 0;
+        while (bytes < size.getBytes() || records.isEmpty()) {
+            Record record = newRecord(random, records.size());
+            records.add(record);
+            map.put(String.valueOf(record.getId()), record);
+            //记录之间的逗号
+            bytes += JacksonUtil.to(record).length() + 1;
+        }
+        Batch batch = new Batch();
+        batch.setId("batch-" + size.name().toLowerCase());
+        batch.setRecords(records);
+        batch.setTail("tail-" + records.size());
+        return new Payload(batch, JacksonUtil.to(batch), JacksonUtil.to(records), JacksonUtil.to(map));
+    }
+
+    private static Record newRecord(Random random, int index) {
+        Record record = new Record();
+        record.setId(1000000L + index);
+        record.setName("user-" + Integer.toHexString(random.nextInt()));
+        record.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        record.setAge(18 + random.nextInt(60));
+        record.setScore(random.nextDouble() * 100);
+        record.setMoney(BigDecimal.valueOf(random.nextInt(1000000), 2));
+        record.setActive(random.nextBoolean());
+        record.setTags(new ArrayList<>(Arrays.asList(TAGS[random.nextInt(TAGS.length)],
+            TAGS[random.nextInt(TAGS.length)])));
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("channel", TAGS[random.nextInt(TAGS.length)]);
+        attributes.put("version", String.valueOf(random.nextInt(10)));
+        record.setAttributes(attributes);
+        return record;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dxy.library.json.benchmark;
+
+/**
+ * 负载大小
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+public enum PayloadSize {
+    /**
+     * 约 1KB
+     */
+    SMALL(1024),
+    /**
+     * 约 100KB
+     */
+    MEDIUM(100 * 1024),
+    /**
+     * 约 50MB
+     */
+    LARGE(50 * 1024 * 1024);
+
+    private final int bytes;
+
+    PayloadSize(int bytes) {
+        this.bytes = bytes;
+    }
+
+    public int getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,26 @@
+package com.dxy.library.json.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 基准测试共享负载，每个 Trial 生成一次
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+@State(Scope.Benchmark)
+public class PayloadState {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public PayloadSize size;
+
+    public Payload payload;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        payload = Payload.generate(size);
+    }
+}
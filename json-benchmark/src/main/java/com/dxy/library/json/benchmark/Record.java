@@ -0,0 +1,25 @@
+package com.dxy.library.json.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * 基准测试使用的单条记录
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+@Data
+public class Record {
+    private long id;
+    private String name;
+    private String status;
+    private int age;
+    private double score;
+    private BigDecimal money;
+    private boolean active;
+    private List<String> tags;
+    private Map<String, String> attributes;
+}
@@ -0,0 +1,43 @@
+package com.dxy.library.json.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dxy.library.json.fastjson.FastjsonUtil;
+import com.dxy.library.json.gson.GsonUtil;
+import com.dxy.library.json.jackson.JacksonUtil;
+
+/**
+ * 序列化基准测试：to
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SerializeBenchmark {
+
+    @Benchmark
+    public String jacksonTo(PayloadState state) {
+        return JacksonUtil.to(state.payload.getBatch());
+    }
+
+    @Benchmark
+    public String gsonTo(PayloadState state) {
+        return GsonUtil.to(state.payload.getBatch());
+    }
+
+    @Benchmark
+    public String fastjsonTo(PayloadState state) {
+        return FastjsonUtil.to(state.payload.getBatch());
+    }
+}
@@ -0,0 +1,119 @@
+package com.dxy.library.json.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dxy.library.json.fastjson.FastjsonUtil;
+import com.dxy.library.json.gson.GsonUtil;
+import com.dxy.library.json.jackson.JacksonUtil;
+
+/**
+ * 基于文档的操作基准测试：getAsString、add、update、format、isJson
+ * getAsStringHead 读取文档开头的字段，getAsStringTail 读取文档末尾的字段
+ * @author duanxinyuan
+ * 2026/10/18 10:12
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TreeBenchmark {
+
+    @Benchmark
+    public String jacksonGetAsStringHead(PayloadState state) {
+        return JacksonUtil.getAsString(state.payload.getBatchJson(), "id");
+    }
+
+    @Benchmark
+    public String gsonGetAsStringHead(PayloadState state) {
+        return GsonUtil.getAsString(state.payload.getBatchJson(), "id");
+    }
+
+    @Benchmark
+    public String fastjsonGetAsStringHead(PayloadState state) {
+        return FastjsonUtil.getAsString(state.payload.getBatchJson(), "id");
+    }
+
+    @Benchmark
+    public String jacksonGetAsStringTail(PayloadState state) {
+        return JacksonUtil.getAsString(state.payload.getBatchJson(), "tail");
+    }
+
+    @Benchmark
+    public String gsonGetAsStringTail(PayloadState state) {
+        return GsonUtil.getAsString(state.payload.getBatchJson(), "tail");
+    }
+
+    @Benchmark
+    public String fastjsonGetAsStringTail(PayloadState state) {
+        return FastjsonUtil.getAsString(state.payload.getBatchJson(), "tail");
+    }
+
+    @Benchmark
+    public String jacksonAdd(PayloadState state) {
+        return JacksonUtil.add(state.payload.getBatchJson(), "extra", "value");
+    }
+
+    @Benchmark
+    public String gsonAdd(PayloadState state) {
+        return GsonUtil.add(state.payload.getBatchJson(), "extra", "value");
+    }
+
+    @Benchmark
+    public String fastjsonAdd(PayloadState state) {
+        return FastjsonUtil.add(state.payload.getBatchJson(), "extra", "value");
+    }
+
+    @Benchmark
+    public String jacksonUpdate(PayloadState state) {
+        return JacksonUtil.update(state.payload.getBatchJson(), "id", "changed");
+    }
+
+    @Benchmark
+    public String gsonUpdate(PayloadState state) {
+        return GsonUtil.update(state.payload.getBatchJson(), "id", "changed");
+    }
+
+    @Benchmark
+    public String fastjsonUpdate(PayloadState state) {
+        return FastjsonUtil.update(state.payload.getBatchJson(), "id", "changed");
+    }
+
+    @Benchmark
+    public String jacksonFormat(PayloadState state) {
+        return JacksonUtil.format(state.payload.getBatchJson());
+    }
+
+    @Benchmark
+    public String gsonFormat(PayloadState state) {
+        return GsonUtil.format(state.payload.getBatchJson());
+    }
+
+    @Benchmark
+    public String fastjsonFormat(PayloadState state) {
+        return FastjsonUtil.format(state.payload.getBatchJson());
+    }
+
+    @Benchmark
+    public boolean jacksonIsJson(PayloadState state) {
+        return JacksonUtil.isJson(state.payload.getBatchJson());
+    }
+
+    @Benchmark
+    public boolean gsonIsJson(PayloadState state) {
+        return GsonUtil.isJson(state.payload.getBatchJson());
+    }
+
+    @Benchmark
+    public boolean fastjsonIsJson(PayloadState state) {
+        return FastjsonUtil.isJson(state.payload.getBatchJson());
+    }
+}
@@ -0,0 +1,104 @@
+package com.dxy.library.json.common;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 最近解析的json文档缓存，对同一个json串连续调用多个 getAs* 方法时只解析一遍
+ * 固定数量的槽位，按json串的哈希分散，无锁，冲突时新值覆盖旧值；只缓存不超过最大长度的json串
+ * 内存占用上限约为 槽位数 × 最大长度 的json及其解析结果，与线程数无关
+ * 先按引用比较，引用不同时按哈希和内容比较；缓存的文档会被多个线程共享，取出后只能读取
+ * @author duanxinyuan
+ * 2026/10/18 23:50
+ */
+public class DocumentCache<D> {
+
+    /**
+     * 默认槽位数
+     */
+    public static final int DEFAULT_SLOTS = 64;
+
+    /**
+     * 默认缓存的json最大长度，更长的json串每次都重新解析
+     */
+    public static final int DEFAULT_MAX_LENGTH = 8192;
+
+    private final AtomicReferenceArray<Entry<D>> slots;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DocumentCache() {
+        this(DEFAULT_SLOTS, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param slots 槽位数，向上取2的幂
+     * @param maxLength 缓存的json最大长度
+     */
+    public DocumentCache(int slots, int maxLength) {
+        int size = Integer.highestOneBit(Math.max(2, slots) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 获取json串解析后的文档，没有时通过 parser 解析后缓存；解析结果为 null 时不缓存
+     */
+    public D get(String json, Function<String, D> parser) {
+        if (json.length() > maxLength) {
+            return parser.apply(json);
+        }
+        int hash = json.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        Entry<D> entry = slots.get(index);
+        if (null != entry && (entry.json == json || entry.json.hashCode() == hash && entry.json.equals(json))) {
+            hits.increment();
+            return entry.document;
+        }
+        misses.increment();
+        D document = parser.apply(json);
+        if (null != document) {
+            slots.set(index, new Entry<>(json, document));
+        }
+        return document;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中次数，不含超过最大长度而跳过的json串
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 清空缓存和计数
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Entry<D> {
+        private final String json;
+        private final D document;
+
+        private Entry(String json, D document) {
+            this.json = json;
+            this.document = document;
+        }
+    }
+}
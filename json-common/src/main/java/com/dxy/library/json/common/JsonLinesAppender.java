@@ -0,0 +1,257 @@
+package com.dxy.library.json.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JSON Lines 追加写入器，每条记录序列化为一行，各模块只需实现单条记录的序列化
+ * 文件通道在整个生命周期内保持打开，记录先写入字节缓冲区，满足刷新策略时才写入文件：
+ * 缓冲区写满（size）、定时刷新（interval）、调用 flush()（explicit），可选每次刷新后 force() 落盘
+ * 每条记录先序列化到暂存区，成功后才复制到缓冲区，序列化失败时丢弃整条记录，不会留下半行
+ * 线程安全，使用完毕必须调用 close()，建议使用 try-with-resources
+ * @author duanxinyuan
+ * 2026/10/18 18:10
+ */
+@Slf4j
+public abstract class JsonLinesAppender implements Closeable, Flushable {
+
+    /**
+     * 默认缓冲区大小，64KB
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 暂存区超过该大小时，写完当前记录后缩回初始大小，避免一条大记录长期占用内存
+     */
+    private static final int MAX_RETAINED_SCRATCH = 1024 * 1024;
+
+    private final String name;
+    private final String path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final boolean forceOnFlush;
+    private final ScheduledFuture<?> flushTask;
+    private final BufferOutputStream bufferOutputStream = new BufferOutputStream();
+    private final Scratch scratch = new Scratch();
+    private boolean closed;
+
+    /**
+     * @param name 模块名，用于异常消息（例：jackson）
+     * @param path 文件路径，不存在时创建，存在时追加
+     * @param bufferSize 缓冲区字节数，写满后写入文件
+     * @param flushIntervalMillis 定时刷新间隔（毫秒），小于等于0表示不定时刷新
+     * @param forceOnFlush 每次刷新后是否调用 force() 落盘
+     */
+    protected JsonLinesAppender(String name, String path, int bufferSize, long flushIntervalMillis,
+        boolean forceOnFlush) {
+        this.name = name;
+        this.path = path;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.forceOnFlush = forceOnFlush;
+        try {
+            this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw newException(name + " appender open error, path: {}", path, e);
+        }
+        if (flushIntervalMillis > 0) {
+            this.flushTask = Flusher.EXECUTOR.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis,
+                flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flushTask = null;
+        }
+    }
+
+    /**
+     * 将一条记录序列化为UTF-8编码的json写入 out，不含换行；out 在写入器的生命周期内始终是同一个实例
+     * 抛出异常时已写入 out 的内容会被丢弃
+     */
+    protected abstract void encode(Object v, OutputStream out) throws IOException;
+
+    /**
+     * 创建各模块的异常，最后一个参数为 Throwable 时作为 cause
+     */
+    protected abstract RuntimeException newException(String format, Object... arguments);
+
+    /**
+     * 追加一条记录
+     */
+    public synchronized <V> void append(V v) {
+        ensureOpen();
+        scratch.reset();
+        try {
+            encode(v, scratch);
+        } catch (IOException | RuntimeException e) {
+            throw newException(name + " append error, path: {}, data: {}", path, v, e);
+        }
+        scratch.write('\n');
+        try {
+            scratch.writeTo(bufferOutputStream);
+        } catch (IOException e) {
+            throw newException(name + " append error, path: {}, data: {}", path, v, e);
+        } finally {
+            scratch.shrink(MAX_RETAINED_SCRATCH);
+        }
+    }
+
+    /**
+     * 追加多条记录，每条一行
+     */
+    public synchronized <V> void appendAll(Collection<V> list) {
+        for (V v : list) {
+            append(v);
+        }
+    }
+
+    /**
+     * 将缓冲区中的记录写入文件，forceOnFlush 为 true 时同时落盘
+     */
+    @Override
+    public synchronized void flush() {
+        ensureOpen();
+        try {
+            drain();
+            if (forceOnFlush) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw newException(name + " appender flush error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 将缓冲区中的记录写入文件并落盘
+     */
+    public synchronized void force() {
+        ensureOpen();
+        try {
+            drain();
+            channel.force(false);
+        } catch (IOException e) {
+            throw newException(name + " appender force error, path: {}", path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        try {
+            drain();
+            if (forceOnFlush) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw newException(name + " appender close error, path: {}", path, e);
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.error("{} appender close error, path: {}", name, path, e);
+            }
+        }
+    }
+
+    private synchronized void flushQuietly() {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("{} appender flush error, path: {}", name, path, e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw newException(name + " appender is closed, path: {}", path);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 单条记录的暂存区，编码器可能持有该实例，因此只替换内部数组而不替换暂存区本身
+     */
+    private static class Scratch extends ByteArrayOutputStream {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private Scratch() {
+            super(INITIAL_CAPACITY);
+        }
+
+        /**
+         * 内部数组超过 maxCapacity 时缩回初始大小
+         */
+        private void shrink(int maxCapacity) {
+            if (buf.length > maxCapacity) {
+                buf = new byte[INITIAL_CAPACITY];
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * 写入字节缓冲区，写满后写入文件
+     */
+    private class BufferOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte)b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int n = Math.min(buffer.remaining(), length);
+                buffer.put(bytes, offset, n);
+                offset += n;
+                length -= n;
+            }
+        }
+    }
+
+    /**
+     * 所有写入器共用的定时刷新线程，首次使用时创建
+     */
+    private static class Flusher {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "json-appender-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
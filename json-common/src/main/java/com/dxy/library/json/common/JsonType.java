@@ -0,0 +1,148 @@
+package com.dxy.library.json.common;
+
+/**
+ * json顶层值的类型，各模块的 detect 方法共用这里的快速判断
+ * 快速判断只读取第一个有效字符（跳过空白、BOM 和注释），不校验之后的内容
+ * @author duanxinyuan
+ * 2026/10/18 23:10
+ */
+public enum JsonType {
+
+    /**
+     * 对象
+     */
+    OBJECT,
+
+    /**
+     * 数组
+     */
+    ARRAY,
+
+    /**
+     * 字符串、数值、布尔值或 null
+     */
+    SCALAR,
+
+    /**
+     * 不是json
+     */
+    INVALID;
+
+    /**
+     * 按第一个有效字符判断顶层值的类型，不校验之后的内容
+     */
+    public static JsonType detect(CharSequence json) {
+        if (null == json) {
+            return INVALID;
+        }
+        int index = indexOfValue(json);
+        return index < 0 ? INVALID : of(json.charAt(index));
+    }
+
+    /**
+     * 第一个有效字符（跳过空白、BOM 和注释）的位置，没有时返回 -1
+     */
+    public static int indexOfValue(CharSequence json) {
+        int length = json.length();
+        int i = 0;
+        while (i < length) {
+            char ch = json.charAt(i);
+            if (isWhitespace(ch) || ch == '\uFEFF') {
+                i++;
+            } else if (ch == '/' && i + 1 < length && json.charAt(i + 1) == '/') {
+                //行注释
+                i += 2;
+                while (i < length && json.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (ch == '/' && i + 1 < length && json.charAt(i + 1) == '*') {
+                //块注释，未闭合时视为不合法
+                i += 2;
+                while (i + 1 < length && (json.charAt(i) != '*' || json.charAt(i + 1) != '/')) {
+                    i++;
+                }
+                if (i + 1 >= length) {
+                    return -1;
+                }
+                i += 2;
+            } else {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按第一个有效字节判断UTF-8编码json顶层值的类型，不校验之后的内容
+     */
+    public static JsonType detect(byte[] json) {
+        if (null == json) {
+            return INVALID;
+        }
+        return detect(json, 0, json.length);
+    }
+
+    /**
+     * 按第一个有效字节判断UTF-8编码json顶层值的类型，不校验之后的内容
+     */
+    public static JsonType detect(byte[] json, int offset, int length) {
+        if (null == json) {
+            return INVALID;
+        }
+        int end = offset + length;
+        int i = offset;
+        //UTF-8 BOM
+        if (length >= 3 && json[i] == (byte)0xEF && json[i + 1] == (byte)0xBB && json[i + 2] == (byte)0xBF) {
+            i += 3;
+        }
+        while (i < end) {
+            byte b = json[i];
+            if (isWhitespace((char)b)) {
+                i++;
+            } else if (b == '/' && i + 1 < end && json[i + 1] == '/') {
+                i += 2;
+                while (i < end && json[i] != '\n') {
+                    i++;
+                }
+            } else if (b == '/' && i + 1 < end && json[i + 1] == '*') {
+                i += 2;
+                while (i + 1 < end && (json[i] != '*' || json[i + 1] != '/')) {
+                    i++;
+                }
+                if (i + 1 >= end) {
+                    return INVALID;
+                }
+                i += 2;
+            } else {
+                return of((char)(b & 0xFF));
+            }
+        }
+        return INVALID;
+    }
+
+    private static JsonType of(char ch) {
+        switch (ch) {
+            case '{':
+                return OBJECT;
+            case '[':
+                return ARRAY;
+            case '"':
+            case '\'':
+            case '-':
+            case '+':
+            case '.':
+            case 't':
+            case 'f':
+            case 'n':
+            case 'N':
+            case 'I':
+                return SCALAR;
+            default:
+                return ch >= '0' && ch <= '9' ? SCALAR : INVALID;
+        }
+    }
+
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t';
+    }
+}
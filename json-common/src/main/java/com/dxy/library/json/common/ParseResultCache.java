@@ -0,0 +1,172 @@
+package com.dxy.library.json.common;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * 有界的反序列化结果缓存，同一个json串反序列化为同一类型时直接返回上次的结果
+ * 适用于反复解析相同内容的配置、开关等数据；结果对象会被多个调用方共享，只缓存通过 immutable() 声明为不可变的类型
+ * 基于 Guava Cache，分段加锁，命中时不加锁；按json字符数计算权重，同时限制条目数和缓存的json总字符数，分段内近似按最近最少使用淘汰
+ * 键为类型和json串，命中时按内容比较，哈希值使用 String 自带的缓存
+ * @author duanxinyuan
+ * 2026/10/18 23:30
+ */
+public class ParseResultCache {
+
+    /**
+     * 默认最大条目数
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /**
+     * 默认缓存的json最大总字符数
+     */
+    public static final long DEFAULT_MAX_CHARS = 4L * 1024 * 1024;
+
+    /**
+     * 分段数，各分段独立加锁
+     */
+    private static final int CONCURRENCY_LEVEL = 4;
+
+    private final long maxSegmentChars;
+    private final Set<Type> immutableTypes = ConcurrentHashMap.newKeySet();
+    private final Cache<Key, Object> entries;
+    private volatile CacheStats baseline = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    public ParseResultCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_CHARS);
+    }
+
+    /**
+     * @param maxEntries 最大条目数
+     * @param maxChars 缓存的json最大总字符数
+     * 两个上限按分段平均分配，淘汰时只看所在分段；超过单个分段字符数的json不缓存
+     */
+    public ParseResultCache(int maxEntries, long maxChars) {
+        maxEntries = Math.max(1, maxEntries);
+        maxChars = Math.max(1, maxChars);
+        int concurrencyLevel = Math.min(CONCURRENCY_LEVEL, maxEntries);
+        this.maxSegmentChars = maxChars / concurrencyLevel;
+        //每个条目的权重不低于平均每条可用的字符数，总权重不超过 maxChars 时条目数也不会超过 maxEntries
+        int minWeight = (int)Math.min(Integer.MAX_VALUE, (maxChars + maxEntries - 1) / maxEntries);
+        this.entries = CacheBuilder.newBuilder()
+            .concurrencyLevel(concurrencyLevel)
+            .maximumWeight(maxChars)
+            .<Key, Object>weigher((key, value) -> Math.max(key.json.length(), minWeight))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * 声明不可变的类型，只有声明过的类型才会缓存
+     */
+    public ParseResultCache immutable(Type... types) {
+        Collections.addAll(immutableTypes, types);
+        return this;
+    }
+
+    /**
+     * 是否缓存该类型的反序列化结果
+     */
+    public boolean isCacheable(Type type) {
+        return immutableTypes.contains(type);
+    }
+
+    /**
+     * 获取缓存的反序列化结果，没有时通过 parser 解析后缓存
+     * 类型未声明为不可变时直接解析；解析结果为 null 时不缓存
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String json, Type type, Function<String, V> parser) {
+        if (null == json || !isCacheable(type) || json.length() > maxSegmentChars) {
+            return parser.apply(json);
+        }
+        Key key = new Key(type, json);
+        Object cached = entries.getIfPresent(key);
+        if (null != cached) {
+            return (V)cached;
+        }
+        //不持有锁解析，同一个json并发未命中时会各自解析一次，以后写入的为准
+        V value = parser.apply(json);
+        if (null != value) {
+            entries.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHits() {
+        return stats().hitCount();
+    }
+
+    /**
+     * 未命中次数，不含未声明为不可变而直接解析的次数
+     */
+    public long getMisses() {
+        return stats().missCount();
+    }
+
+    /**
+     * 因超过条目数或总字符数而淘汰的次数
+     */
+    public long getEvictions() {
+        return stats().evictionCount();
+    }
+
+    /**
+     * 当前条目数
+     */
+    public int size() {
+        return (int)entries.size();
+    }
+
+    /**
+     * 清空缓存和计数，已声明的不可变类型保留
+     */
+    public void clear() {
+        entries.invalidateAll();
+        baseline = entries.stats();
+    }
+
+    private CacheStats stats() {
+        return entries.stats().minus(baseline);
+    }
+
+    private static final class Key {
+        private final Type type;
+        private final String json;
+        private final int hash;
+
+        private Key(Type type, String json) {
+            this.type = type;
+            this.json = json;
+            this.hash = 31 * type.hashCode() + json.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key)o;
+            return hash == key.hash && type.equals(key.type) && json.equals(key.json);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
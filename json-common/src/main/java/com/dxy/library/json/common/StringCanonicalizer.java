@@ -0,0 +1,131 @@
+package com.dxy.library.json.common;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界的字符串规范化缓存，反序列化时相同内容的短字符串共用同一个实例
+ * 适用于取值种类有限、重复度很高的字段（状态码、国家码、枚举类标签等），长期持有的批量数据可以明显减少堆占用
+ * 按哈希直接映射到固定大小的槽位，无锁，冲突时新值覆盖旧值，内存占用有上限
+ * 传入 char[] 且命中时不创建新的字符串
+ * @author duanxinyuan
+ * 2026/10/18 22:10
+ */
+public class StringCanonicalizer {
+
+    /**
+     * 默认槽位数
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * 默认参与规范化的最大长度，更长的字符串直接返回
+     */
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final String[] table;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StringCanonicalizer() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param capacity 槽位数，向上取2的幂
+     * @param maxLength 参与规范化的最大长度
+     */
+    public StringCanonicalizer(int capacity, int maxLength) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.table = new String[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 返回与 value 内容相同的缓存实例，没有时缓存 value 本身
+     */
+    public String canonicalize(String value) {
+        if (null == value || value.length() > maxLength) {
+            return value;
+        }
+        int index = spread(value.hashCode()) & mask;
+        String cached = table[index];
+        if (null != cached && cached.equals(value)) {
+            hits.increment();
+            return cached;
+        }
+        table[index] = value;
+        misses.increment();
+        return value;
+    }
+
+    /**
+     * 返回内容为 chars[offset, offset + length) 的缓存实例，命中时不创建新的字符串
+     */
+    public String canonicalize(char[] chars, int offset, int length) {
+        if (length > maxLength) {
+            return new String(chars, offset, length);
+        }
+        //与 String.hashCode() 相同的算法，两个 canonicalize 方法共用槽位
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int index = spread(hash) & mask;
+        String cached = table[index];
+        if (null != cached && matches(cached, chars, offset, length)) {
+            hits.increment();
+            return cached;
+        }
+        String value = new String(chars, offset, length);
+        table[index] = value;
+        misses.increment();
+        return value;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中次数，不含超过最大长度而跳过的字符串
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * 清空缓存和计数
+     */
+    public void clear() {
+        Arrays.fill(table, null);
+        hits.reset();
+        misses.reset();
+    }
+
+    private static boolean matches(String cached, char[] chars, int offset, int length) {
+        if (cached.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,155 @@
+package com.dxy.library.json.fastjson;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.dxy.library.json.fastjson.exception.FastjsonException;
+
+/**
+ * 一次解析得到的多个字段，见 {@link FastjsonUtil#getAsFields(String, Set)}
+ * 只包含请求的字段，取值规则和默认值与 FastjsonUtil.getAs* 一致
+ * @author duanxinyuan
+ * 2026/10/18 11:05
+ */
+public class FastjsonFields {
+    private final JSONObject jsonObject;
+
+    FastjsonFields(JSONObject jsonObject) {
+        this.jsonObject = jsonObject;
+    }
+
+    /**
+     * json中是否有该字段，未请求的字段始终为 false
+     */
+    public boolean contains(String key) {
+        return jsonObject.containsKey(key);
+    }
+
+    /**
+     * @return String，默认为 null
+     */
+    public String getAsString(String key) {
+        try {
+            return jsonObject.getString(key);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get string error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return int，默认为 0
+     */
+    public int getAsInt(String key) {
+        try {
+            return jsonObject.getIntValue(key);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get int error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return long，默认为 0
+     */
+    public long getAsLong(String key) {
+        try {
+            return jsonObject.getLongValue(key);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get long error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return double，默认为 0.0
+     */
+    public double getAsDouble(String key) {
+        try {
+            return jsonObject.getDoubleValue(key);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get double error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return BigInteger，默认为 0
+     */
+    public BigInteger getAsBigInteger(String key) {
+        try {
+            BigInteger value = jsonObject.getBigInteger(key);
+            return value == null ? BigInteger.ZERO : value;
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get big integer error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return BigDecimal，默认为 0.0
+     */
+    public BigDecimal getAsBigDecimal(String key) {
+        try {
+            BigDecimal value = jsonObject.getBigDecimal(key);
+            return value == null ? new BigDecimal("0.0") : value;
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get big decimal error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return boolean, 默认为false
+     */
+    public boolean getAsBoolean(String key) {
+        try {
+            return jsonObject.getBooleanValue(key);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get boolean error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return byte, 默认为 0
+     */
+    public byte getAsByte(String key) {
+        try {
+            return jsonObject.getByteValue(key);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get bytes error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return object, 默认为 null
+     */
+    public <V> V getAsObject(String key, Class<V> type) {
+        try {
+            return FastjsonUtil.getAsObject(jsonObject.get(key), type);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get object error, key: {}, type: {}", key, type, e);
+        }
+    }
+
+    /**
+     * @return list, 默认为 null
+     */
+    public <V> List<V> getAsList(String key, Class<V> type) {
+        try {
+            JSONArray jsonArray = jsonObject.getJSONArray(key);
+            return jsonArray == null ? null : jsonArray.toJavaList(type);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get list error, key: {}, type: {}", key, type, e);
+        }
+    }
+
+    /**
+     * @return JSONObject, 默认为 null
+     */
+    public JSONObject getAsJsonObject(String key) {
+        try {
+            return jsonObject.getJSONObject(key);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get object error, key: {}", key, e);
+        }
+    }
+}
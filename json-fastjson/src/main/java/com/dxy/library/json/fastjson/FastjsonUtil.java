@@ -1,23 +1,51 @@
 package com.dxy.library.json.fastjson;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONPath;
+import com.alibaba.fastjson.JSONReader;
+import com.alibaba.fastjson.JSONWriter;
 import com.alibaba.fastjson.TypeReference;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
 import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONLexerBase;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.JSONScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.SymbolTable;
+import com.alibaba.fastjson.serializer.SerializeWriter;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 import com.alibaba.fastjson.util.ParameterizedTypeImpl;
+import com.alibaba.fastjson.util.TypeUtils;
 
+import com.dxy.library.json.common.DocumentCache;
+import com.dxy.library.json.common.JsonType;
 import com.dxy.library.json.fastjson.exception.FastjsonException;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -32,6 +60,16 @@ import org.apache.commons.lang3.StringUtils;
 @Slf4j
 public class FastjsonUtil {
 
+    /**
+     * getAs*(json, key) 最近解析的文档
+     */
+    private static final DocumentCache<JSONObject> DOCUMENT_CACHE = new DocumentCache<>();
+
+    /**
+     * JSONScanner.info() 开头的出错位置
+     */
+    private static final Pattern LOCATION = Pattern.compile("pos (\\d+)");
+
     static {
         //屏蔽JSON中的 $ref
         JSON.DEFAULT_GENERATE_FEATURE |= SerializerFeature.DisableCircularReferenceDetect.getMask();
@@ -148,6 +186,126 @@ public class FastjsonUtil {
             new ParameterizedTypeImpl(new Type[] {valueParameterizedType}, null, List.class));
     }
 
+    /**
+     * JSON反序列化（int[]），由lexer逐个读取数值写入可扩容的 int[]，元素不装箱
+     */
+    public static int[] fromIntArray(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return readIntArray(new JSONScanner(json));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, json: {}, type: {}", json, int[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（int[]），输入为UTF-8编码的字节
+     */
+    public static int[] fromIntArray(byte[] json) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return readIntArray(newScanner(new ByteArrayInputStream(json)));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, json length: {}, type: {}", json.length,
+                int[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（int[]），读取完成后关闭 inputStream
+     */
+    public static int[] fromIntArray(InputStream inputStream) {
+        try {
+            return readIntArray(newScanner(Objects.requireNonNull(inputStream)));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, type: {}", int[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（long[]），由lexer逐个读取数值写入可扩容的 long[]，元素不装箱
+     */
+    public static long[] fromLongArray(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return readLongArray(new JSONScanner(json));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, json: {}, type: {}", json, long[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（long[]），输入为UTF-8编码的字节
+     */
+    public static long[] fromLongArray(byte[] json) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return readLongArray(newScanner(new ByteArrayInputStream(json)));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, json length: {}, type: {}", json.length,
+                long[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（long[]），读取完成后关闭 inputStream
+     */
+    public static long[] fromLongArray(InputStream inputStream) {
+        try {
+            return readLongArray(newScanner(Objects.requireNonNull(inputStream)));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, type: {}", long[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（double[]），由lexer逐个读取数值写入可扩容的 double[]，元素不装箱
+     */
+    public static double[] fromDoubleArray(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return readDoubleArray(new JSONScanner(json));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, json: {}, type: {}", json, double[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（double[]），输入为UTF-8编码的字节
+     */
+    public static double[] fromDoubleArray(byte[] json) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return readDoubleArray(newScanner(new ByteArrayInputStream(json)));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, json length: {}, type: {}", json.length,
+                double[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（double[]），读取完成后关闭 inputStream
+     */
+    public static double[] fromDoubleArray(InputStream inputStream) {
+        try {
+            return readDoubleArray(newScanner(Objects.requireNonNull(inputStream)));
+        } catch (RuntimeException e) {
+            throw new FastjsonException("fastjson from error, type: {}", double[].class, e);
+        }
+    }
+
     /**
      * 序列化为JSON
      */
@@ -162,6 +320,89 @@ public class FastjsonUtil {
         return JSON.toJSONString(v);
     }
 
+    /**
+     * 序列化为JSON（int[]），直接写出数值，不经过序列化器查找和装箱
+     */
+    public static String toJson(int[] values) {
+        if (null == values) {
+            return "null";
+        }
+        SerializeWriter out = new SerializeWriter();
+        try {
+            out.write('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.writeInt(values[i]);
+            }
+            out.write(']');
+            return out.toString();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 序列化为JSON（long[]），直接写出数值，不经过序列化器查找和装箱
+     */
+    public static String toJson(long[] values) {
+        if (null == values) {
+            return "null";
+        }
+        SerializeWriter out = new SerializeWriter();
+        try {
+            out.write('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.writeLong(values[i]);
+            }
+            out.write(']');
+            return out.toString();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 序列化为JSON（double[]），直接写出数值，不经过序列化器查找和装箱
+     */
+    public static String toJson(double[] values) {
+        if (null == values) {
+            return "null";
+        }
+        SerializeWriter out = new SerializeWriter();
+        try {
+            out.write('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.writeDouble(values[i], false);
+            }
+            out.write(']');
+            return out.toString();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * getAs*(json, key) 最近解析的文档缓存，对同一个json串连续取多个字段时只解析一遍
+     */
+    public static DocumentCache<JSONObject> getDocumentCache() {
+        return DOCUMENT_CACHE;
+    }
+
+    /**
+     * 解析后的文档由 {@link #getDocumentCache()} 缓存，只能读取，不能返回给调用方
+     */
+    private static JSONObject getDocument(String json) {
+        return DOCUMENT_CACHE.get(json, JSON::parseObject);
+    }
+
     /**
      * 从json串中获取某个字段
      * @return String，默认为 null
@@ -171,7 +412,7 @@ public class FastjsonUtil {
             return null;
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
                 return null;
             }
@@ -190,7 +431,7 @@ public class FastjsonUtil {
             return 0;
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
                 return 0;
             }
@@ -209,7 +450,7 @@ public class FastjsonUtil {
             return 0L;
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
                 return 0L;
             }
@@ -228,7 +469,7 @@ public class FastjsonUtil {
             return 0.0;
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
                 return 0.0;
             }
@@ -240,16 +481,16 @@ public class FastjsonUtil {
 
     /**
      * 从json串中获取某个字段
-     * @return BigInteger，默认为 0.0
+     * @return BigInteger，默认为 0
      */
     public static BigInteger getAsBigInteger(String json, String key) {
         if (StringUtils.isEmpty(json)) {
-            return new BigInteger(String.valueOf(0.00));
+            return BigInteger.ZERO;
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
-                return new BigInteger(String.valueOf(0.00));
+                return BigInteger.ZERO;
             }
             return jsonObject.getBigInteger(key);
         } catch (Exception e) {
@@ -266,7 +507,7 @@ public class FastjsonUtil {
             return new BigDecimal("0.0");
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
                 return new BigDecimal("0.0");
             }
@@ -285,7 +526,7 @@ public class FastjsonUtil {
             return false;
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
                 return false;
             }
@@ -304,7 +545,7 @@ public class FastjsonUtil {
             return 0;
         }
         try {
-            JSONObject jsonObject = JSON.parseObject(json);
+            JSONObject jsonObject = getDocument(json);
             if (jsonObject == null) {
                 return 0;
             }
@@ -327,10 +568,24 @@ public class FastjsonUtil {
             if (jsonObject == null) {
                 return null;
             }
-            return JSON.parseObject(jsonObject.getString(key), type);
+            return getAsObject(jsonObject.get(key), type);
         } catch (Exception e) {
-            throw new FastjsonException("fastjson get list error, json: {}, key: {}, type: {}", json, key, type, e);
+            throw new FastjsonException("fastjson get object error, json: {}, key: {}, type: {}", json, key, type, e);
+        }
+    }
+
+    /**
+     * 将字段值转换为指定类型，直接从解析好的JSONObject/JSONArray绑定，不再转成json串重新解析
+     * 字符串值视为内嵌的json串，兼容字段值被二次编码的情况
+     */
+    static <V> V getAsObject(Object value, Class<V> type) {
+        if (value == null) {
+            return null;
         }
+        if (value instanceof String) {
+            return JSON.parseObject((String)value, type);
+        }
+        return TypeUtils.castToJavaBean(value, type);
     }
 
     /**
@@ -373,71 +628,969 @@ public class FastjsonUtil {
     }
 
     /**
-     * 向json中添加属性
-     * @return json
+     * 编译json路径（JSONPath，例：$.order.items[0].sku），编译结果由fastjson缓存
+     * 编译后的路径可以重复使用，取值时流式匹配，跳过无关的分支
      */
-    public static <V> String add(String json, String key, V value) {
-        Object object = JSON.parse(json);
-        if (object instanceof JSONObject) {
-            add((JSONObject)object, key, value);
+    public static JSONPath compilePath(String path) {
+        return JSONPath.compile(path);
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return String，默认为 null
+     */
+    public static String getAsString(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return TypeUtils.castToString(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get string error, json: {}, path: {}", json, path, e);
         }
-        return object.toString();
     }
 
     /**
-     * 向json中添加属性
+     * 从json中按路径获取某个字段
+     * @return String，默认为 null
      */
-    private static <V> void add(JSONObject jsonObject, String key, V value) {
-        if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Byte[]) {
-            jsonObject.put(key, value);
-        } else {
-            jsonObject.put(key, to(value));
+    public static String getAsString(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return null;
         }
+        return getAsString(new String(json, StandardCharsets.UTF_8), path);
     }
 
     /**
-     * 除去json中的某个属性
-     * @return json
+     * 从json中按路径获取某个字段
+     * @return String，默认为 null
      */
-    public static String remove(String json, String key) {
-        Object object = JSON.parse(json);
-        if (object instanceof JSONObject) {
-            ((JSONObject)object).remove(key);
+    public static String getAsString(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return null;
+        }
+        try {
+            return TypeUtils.castToString(extract(inputStream, path));
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get string error, path: {}", path, e);
         }
-        return object.toString();
     }
 
     /**
-     * 修改json中的属性
+     * 从json串中按路径获取某个字段
+     * @return int，默认为 0
      */
-    public static <V> String update(String json, String key, V value) {
-        Object object = JSON.parse(json);
-        if (object instanceof JSONObject) {
-            add((JSONObject)object, key, value);
-            ((JSONObject)object).remove(key);
+    public static int getAsInt(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? 0 : TypeUtils.castToInt(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get int error, json: {}, path: {}", json, path, e);
         }
-        return object.toString();
     }
 
     /**
-     * 格式化Json(美化)
-     * @return json
+     * 从json中按路径获取某个字段
+     * @return int，默认为 0
      */
-    public static String format(String json) {
-        JSONObject jsonObject = JSON.parseObject(json);
-        return JSON.toJSONString(jsonObject, SerializerFeature.PrettyFormat);
+    public static int getAsInt(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return 0;
+        }
+        return getAsInt(new String(json, StandardCharsets.UTF_8), path);
     }
 
     /**
-     * 判断字符串是否是json
-     * @return json
+     * 从json中按路径获取某个字段
+     * @return int，默认为 0
      */
-    public static boolean isJson(String json) {
+    public static int getAsInt(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return 0;
+        }
         try {
-            JSON.parse(json);
-            return true;
+            Object value = extract(inputStream, path);
+            return value == null ? 0 : TypeUtils.castToInt(value);
         } catch (Exception e) {
-            return false;
+            throw new FastjsonException("fastjson get int error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0L;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? 0L : TypeUtils.castToLong(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get long error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return 0L;
+        }
+        return getAsLong(new String(json, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return 0L;
+        }
+        try {
+            Object value = extract(inputStream, path);
+            return value == null ? 0L : TypeUtils.castToLong(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get long error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0.0;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? 0.0 : TypeUtils.castToDouble(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get double error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return 0.0;
+        }
+        return getAsDouble(new String(json, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return 0.0;
+        }
+        try {
+            Object value = extract(inputStream, path);
+            return value == null ? 0.0 : TypeUtils.castToDouble(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get double error, path: {}", path, e);
         }
     }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return BigInteger.ZERO;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? BigInteger.ZERO : TypeUtils.castToBigInteger(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get big integer error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return BigInteger.ZERO;
+        }
+        return getAsBigInteger(new String(json, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return BigInteger.ZERO;
+        }
+        try {
+            Object value = extract(inputStream, path);
+            return value == null ? BigInteger.ZERO : TypeUtils.castToBigInteger(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get big integer error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return BigDecimal，默认为 0.0
+     */
+    public static BigDecimal getAsBigDecimal(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return new BigDecimal("0.0");
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? new BigDecimal("0.0") : TypeUtils.castToBigDecimal(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get big decimal error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigDecimal，默认为 0.0
+     */
+    public static BigDecimal getAsBigDecimal(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return new BigDecimal("0.0");
+        }
+        return getAsBigDecimal(new String(json, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigDecimal，默认为 0.0
+     */
+    public static BigDecimal getAsBigDecimal(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return new BigDecimal("0.0");
+        }
+        try {
+            Object value = extract(inputStream, path);
+            return value == null ? new BigDecimal("0.0") : TypeUtils.castToBigDecimal(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get big decimal error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return boolean, 默认为false
+     */
+    public static boolean getAsBoolean(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return false;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value != null && TypeUtils.castToBoolean(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get boolean error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return boolean, 默认为false
+     */
+    public static boolean getAsBoolean(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return false;
+        }
+        return getAsBoolean(new String(json, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return boolean, 默认为false
+     */
+    public static boolean getAsBoolean(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return false;
+        }
+        try {
+            Object value = extract(inputStream, path);
+            return value != null && TypeUtils.castToBoolean(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get boolean error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? 0 : TypeUtils.castToByte(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get bytes error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(byte[] json, JSONPath path) {
+        if (null == json || json.length == 0) {
+            return 0;
+        }
+        return getAsByte(new String(json, StandardCharsets.UTF_8), path);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(InputStream inputStream, JSONPath path) {
+        if (null == inputStream) {
+            return 0;
+        }
+        try {
+            Object value = extract(inputStream, path);
+            return value == null ? 0 : TypeUtils.castToByte(value);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get bytes error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(String json, JSONPath path, Class<V> type) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return getAsObject(extract(new DefaultJSONParser(json), path), type);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get object error, json: {}, path: {}, type: {}", json, path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(byte[] json, JSONPath path, Class<V> type) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        return getAsObject(new String(json, StandardCharsets.UTF_8), path, type);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(InputStream inputStream, JSONPath path, Class<V> type) {
+        if (null == inputStream) {
+            return null;
+        }
+        try {
+            return getAsObject(extract(inputStream, path), type);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get object error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(String json, JSONPath path, Class<V> type) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? null : TypeUtils.castToJavaBean(value, JSONArray.class).toJavaList(type);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get list error, json: {}, path: {}, type: {}", json, path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(byte[] json, JSONPath path, Class<V> type) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        return getAsList(new String(json, StandardCharsets.UTF_8), path, type);
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(InputStream inputStream, JSONPath path, Class<V> type) {
+        if (null == inputStream) {
+            return null;
+        }
+        try {
+            Object value = extract(inputStream, path);
+            return value == null ? null : TypeUtils.castToJavaBean(value, JSONArray.class).toJavaList(type);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get list error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return JSONObject, 默认为 null
+     */
+    public static JSONObject getAsJsonObject(String json, JSONPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            Object value = extract(new DefaultJSONParser(json), path);
+            return value == null ? null : TypeUtils.castToJavaBean(value, JSONObject.class);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get object error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * JSONReaderScanner 不支持按字段跳读（seekObjectToField），因此先读成字符串再按路径提取
+     */
+    private static Object extract(InputStream inputStream, JSONPath path) throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return extract(new DefaultJSONParser(CharStreams.toString(reader)), path);
+        }
+    }
+
+    /**
+     * 按路径流式提取，不关心路径之后的内容，因此只释放lexer而不校验是否读到结尾
+     */
+    private static Object extract(DefaultJSONParser parser, JSONPath path) {
+        try {
+            return path.extract(parser);
+        } finally {
+            parser.getLexer().close();
+        }
+    }
+
+    /**
+     * 从json串中一次性获取多个字段，只解析一遍
+     * @return 字段集合，不存在的字段取值时返回与 getAs* 相同的默认值
+     */
+    public static FastjsonFields getAsFields(String json, String... keys) {
+        return getAsFields(json, new HashSet<>(Arrays.asList(keys)));
+    }
+
+    /**
+     * 从json串中一次性获取多个字段，只解析一遍
+     * 只保留 keys 中的字段，所有字段都找到后立即返回，keys 可以预先构建好重复使用
+     * @return 字段集合，不存在或未请求的字段取值时返回与 getAs* 相同的默认值
+     */
+    public static FastjsonFields getAsFields(String json, Set<String> keys) {
+        JSONObject values = new JSONObject();
+        if (!StringUtils.startsWith(StringUtils.trimToEmpty(json), "{")) {
+            return new FastjsonFields(values);
+        }
+        //提前返回时不读到结尾，因此只释放lexer而不校验是否读到结尾
+        DefaultJSONParser parser = new DefaultJSONParser(json);
+        try {
+            JSONReader reader = new JSONReader(parser);
+            reader.startObject();
+            while (values.size() < keys.size() && reader.hasNext()) {
+                String name = reader.readString();
+                Object value = reader.readObject();
+                if (keys.contains(name) && !values.containsKey(name)) {
+                    values.put(name, value);
+                }
+            }
+            return new FastjsonFields(values);
+        } catch (Exception e) {
+            throw new FastjsonException("fastjson get fields error, json: {}, keys: {}", json, keys, e);
+        } finally {
+            parser.getLexer().close();
+        }
+    }
+
+    /**
+     * 向json中添加属性，属性已存在时替换
+     * @return json
+     */
+    public static <V> String add(String json, String key, V value) {
+        return add(json, key, value, false);
+    }
+
+    /**
+     * 向json中添加属性，属性已存在时替换
+     * @param nested 为 true 时对象、集合等按json结构写入，为 false 时写入序列化后的json串
+     */
+    public static <V> String add(String json, String key, V value, boolean nested) {
+        try {
+            return rewrite(json, key, value, false, nested);
+        } catch (IOException | RuntimeException e) {
+            throw new FastjsonException("fastjson add error, json: {}, key: {}, value: {}", json, key, value, e);
+        }
+    }
+
+    /**
+     * 除去json中的某个属性
+     * @return json
+     */
+    public static String remove(String json, String key) {
+        try {
+            return rewrite(json, key, null, true, false);
+        } catch (IOException | RuntimeException e) {
+            throw new FastjsonException("fastjson remove error, json: {}, key: {}", json, key, e);
+        }
+    }
+
+    /**
+     * 修改json中的属性，属性位置不变，属性不存在时添加到末尾
+     */
+    public static <V> String update(String json, String key, V value) {
+        return update(json, key, value, false);
+    }
+
+    /**
+     * 修改json中的属性，属性位置不变，属性不存在时添加到末尾
+     * @param nested 为 true 时对象、集合等按json结构写入，为 false 时写入序列化后的json串
+     */
+    public static <V> String update(String json, String key, V value, boolean nested) {
+        try {
+            return rewrite(json, key, value, false, nested);
+        } catch (IOException | RuntimeException e) {
+            throw new FastjsonException("fastjson update error, json: {}, key: {}, value: {}", json, key, value, e);
+        }
+    }
+
+    /**
+     * 逐个顶层属性改写json，不构建整个文档的JSONObject
+     * 其他属性逐个读出后立即写入，目标属性在原位置替换或删除，不存在时添加到末尾
+     * 与 JSONObject.toString() 一致，值为 null 的属性不输出；顶层不是对象时原样输出
+     */
+    private static <V> String rewrite(String json, String key, V value, boolean remove, boolean nested)
+        throws IOException {
+        if (!StringUtils.startsWith(StringUtils.trimToEmpty(json), "{")) {
+            return String.valueOf(JSON.parse(json));
+        }
+        StringWriter out = new StringWriter(json.length() + 16);
+        //close() 写出剩余内容并归还 SerializeWriter 的缓冲区，flush() 不会归还
+        try (JSONReader reader = new JSONReader(new StringReader(json)); JSONWriter writer = new JSONWriter(out)) {
+            reader.startObject();
+            writer.startObject();
+            boolean found = false;
+            while (reader.hasNext()) {
+                String name = reader.readString();
+                Object current = reader.readObject();
+                if (!found && name.equals(key)) {
+                    found = true;
+                    if (!remove) {
+                        writeValue(writer, name, value, nested);
+                    }
+                } else if (current != null) {
+                    writer.writeKey(name);
+                    writer.writeValue(current);
+                }
+            }
+            if (!found && !remove) {
+                writeValue(writer, key, value, nested);
+            }
+            reader.endObject();
+            writer.endObject();
+        }
+        return out.toString();
+    }
+
+    /**
+     * 写入属性，字符串、数值、布尔按原类型写入，其他类型写入序列化后的json串
+     * nested 为 true 时直接序列化到输出中，对象、集合等作为json结构写入，不需要再次转义
+     */
+    private static <V> void writeValue(JSONWriter writer, String key, V value, boolean nested) {
+        writer.writeKey(key);
+        if (nested || value instanceof String || value instanceof Number || value instanceof Boolean
+            || value instanceof Byte[]) {
+            writer.writeValue(value);
+        } else {
+            writer.writeValue(to(value));
+        }
+    }
+
+    private static JSONLexerBase newScanner(InputStream inputStream) {
+        return new JSONReaderScanner(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    private static int[] readIntArray(JSONLexerBase lexer) {
+        return readArray(lexer, "int", int[]::new, (l, values, index) -> {
+            if (l.token() != JSONToken.LITERAL_INT) {
+                return false;
+            }
+            values[index] = l.intValue();
+            return true;
+        });
+    }
+
+    private static long[] readLongArray(JSONLexerBase lexer) {
+        return readArray(lexer, "long", long[]::new, (l, values, index) -> {
+            if (l.token() != JSONToken.LITERAL_INT) {
+                return false;
+            }
+            values[index] = l.longValue();
+            return true;
+        });
+    }
+
+    private static double[] readDoubleArray(JSONLexerBase lexer) {
+        return readArray(lexer, "double", double[]::new, (l, values, index) -> {
+            if (l.token() != JSONToken.LITERAL_INT && l.token() != JSONToken.LITERAL_FLOAT) {
+                return false;
+            }
+            values[index] = l.doubleValue();
+            return true;
+        });
+    }
+
+    /**
+     * 读取基本类型数组，容量不足时翻倍扩容，读取完成后截取到实际长度并释放lexer
+     * 元素为 null 时读取为 0，顶层为 null 时返回 null
+     * @param typeName 元素类型名，用于异常消息
+     * @param newArray 创建指定长度的数组
+     * @param elementReader 读取当前元素写入数组
+     */
+    private static <A> A readArray(JSONLexerBase lexer, String typeName, IntFunction<A> newArray,
+        ElementReader<A> elementReader) {
+        try {
+            if (!startArray(lexer)) {
+                return null;
+            }
+            int capacity = 16;
+            A values = newArray.apply(capacity);
+            int size = 0;
+            while (lexer.token() != JSONToken.RBRACKET) {
+                if (size == capacity) {
+                    capacity <<= 1;
+                    values = copyOf(values, size, capacity, newArray);
+                }
+                if (lexer.token() != JSONToken.NULL && !elementReader.read(lexer, values, size)) {
+                    throw new JSONException("syntax error, expect " + typeName + ", actual " + lexer.tokenName());
+                }
+                size++;
+                nextElement(lexer);
+            }
+            lexer.nextToken();
+            checkEnd(lexer);
+            return size == capacity ? values : copyOf(values, size, size, newArray);
+        } finally {
+            lexer.close();
+        }
+    }
+
+    private static <A> A copyOf(A values, int size, int length, IntFunction<A> newArray) {
+        A copy = newArray.apply(length);
+        System.arraycopy(values, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * 读取到数组的第一个元素，顶层为 null 时返回 false
+     */
+    private static boolean startArray(JSONLexerBase lexer) {
+        lexer.nextToken();
+        if (lexer.token() == JSONToken.NULL) {
+            lexer.nextToken();
+            checkEnd(lexer);
+            return false;
+        }
+        if (lexer.token() != JSONToken.LBRACKET) {
+            throw new JSONException("syntax error, expect [, actual " + lexer.tokenName());
+        }
+        lexer.nextToken();
+        return true;
+    }
+
+    private static void nextElement(JSONLexerBase lexer) {
+        lexer.nextToken();
+        if (lexer.token() == JSONToken.COMMA) {
+            lexer.nextToken();
+        } else if (lexer.token() != JSONToken.RBRACKET) {
+            throw new JSONException("syntax error, expect , or ], actual " + lexer.tokenName());
+        }
+    }
+
+    private static void checkEnd(JSONLexerBase lexer) {
+        if (lexer.token() != JSONToken.EOF) {
+            throw new JSONException("syntax error, expect EOF, actual " + lexer.tokenName());
+        }
+    }
+
+    /**
+     * 格式化Json(美化)
+     * @return json
+     */
+    public static String format(String json) {
+        JSONObject jsonObject = JSON.parseObject(json);
+        return JSON.toJSONString(jsonObject, SerializerFeature.PrettyFormat);
+    }
+
+    /**
+     * 判断json顶层值的类型，只读取第一个有效字符，不校验之后的内容
+     */
+    public static JsonType detect(String json) {
+        return JsonType.detect(json);
+    }
+
+    /**
+     * 判断json顶层值的类型
+     * @param validate true 时完整扫描校验，不合法时返回 INVALID
+     */
+    public static JsonType detect(String json, boolean validate) {
+        if (!validate) {
+            return JsonType.detect(json);
+        }
+        return isJson(json) ? detectValid(JsonType.detect(json)) : JsonType.INVALID;
+    }
+
+    /**
+     * 判断UTF-8编码json顶层值的类型，只读取第一个有效字节，不校验之后的内容
+     */
+    public static JsonType detect(byte[] json) {
+        return JsonType.detect(json);
+    }
+
+    /**
+     * 判断UTF-8编码json顶层值的类型
+     * @param validate true 时完整扫描校验，不合法时返回 INVALID
+     */
+    public static JsonType detect(byte[] json, boolean validate) {
+        if (!validate) {
+            return JsonType.detect(json);
+        }
+        return isJson(json) ? detectValid(JsonType.detect(json)) : JsonType.INVALID;
+    }
+
+    /**
+     * 已校验为合法的json，不是对象和数组时即为标量
+     */
+    private static JsonType detectValid(JsonType type) {
+        return type == JsonType.OBJECT || type == JsonType.ARRAY ? type : JsonType.SCALAR;
+    }
+
+    /**
+     * 判断字符串是否是json，逐个token扫描，不构建JSONObject/JSONArray
+     * @return json
+     */
+    public static boolean isJson(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return false;
+        }
+        return scan(new JSONScanner(json));
+    }
+
+    /**
+     * 判断UTF-8编码的字节是否是json，逐个token扫描，不构建JSONObject/JSONArray
+     */
+    public static boolean isJson(byte[] json) {
+        if (null == json || json.length == 0) {
+            return false;
+        }
+        return scan(newScanner(new ByteArrayInputStream(json)));
+    }
+
+    /**
+     * 判断输入流是否是json，逐个token扫描，不构建JSONObject/JSONArray，读取完成后关闭 inputStream
+     */
+    public static boolean isJson(InputStream inputStream) {
+        return scan(newScanner(Objects.requireNonNull(inputStream)));
+    }
+
+    /**
+     * 校验json，与 isJson 相同的规则
+     * @return 出错时解析器所在的字符偏移，合法时返回 -1
+     */
+    public static long getJsonErrorOffset(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        JSONScanner lexer = new JSONScanner(json);
+        return scan(lexer) ? -1 : getOffset(json, lexer);
+    }
+
+    /**
+     * 校验UTF-8编码的json，与 isJson 相同的规则
+     * JSONReaderScanner 的位置是相对缓冲区的，因此按字符串扫描后换算成字节偏移
+     * @return 出错时解析器所在的字节偏移，合法时返回 -1
+     */
+    public static long getJsonErrorOffset(byte[] json) {
+        if (null == json || json.length == 0) {
+            return 0;
+        }
+        String text = new String(json, StandardCharsets.UTF_8);
+        long offset = getJsonErrorOffset(text);
+        return offset < 0 ? -1 : text.substring(0, (int)offset).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * 校验输入流中的json，与 isJson 相同的规则，读取完成后关闭 inputStream
+     * 需要换算偏移，因此先读入全部内容
+     * 读取输入流出错时抛出异常，不视为json不合法
+     * @return 出错时解析器所在的字节偏移，合法时返回 -1
+     */
+    public static long getJsonErrorOffset(InputStream inputStream) {
+        byte[] json;
+        try (InputStream in = Objects.requireNonNull(inputStream)) {
+            json = ByteStreams.toByteArray(in);
+        } catch (IOException e) {
+            throw new FastjsonException("fastjson validate error", e);
+        }
+        return getJsonErrorOffset(json);
+    }
+
+    /**
+     * JSONScanner 的位置只通过 info() 公开
+     */
+    private static long getOffset(String json, JSONScanner lexer) {
+        Matcher matcher = LOCATION.matcher(lexer.info());
+        return matcher.lookingAt() ? Math.min(json.length(), Integer.parseInt(matcher.group(1))) : 0;
+    }
+
+    /**
+     * 扫描到输入结尾，只校验结构，字符串值不解码
+     * 与 JSON.parse 一致，支持单引号、不带引号的字段名和末尾多余的逗号；顶层只能有一个值
+     */
+    private static boolean scan(JSONLexerBase lexer) {
+        SymbolTable symbolTable = ParserConfig.getGlobalInstance().symbolTable;
+        try {
+            //每一层是否是对象
+            boolean[] objects = new boolean[16];
+            int depth = 0;
+            lexer.nextToken();
+            while (true) {
+                int token = lexer.token();
+                if (token == JSONToken.LBRACE || token == JSONToken.LBRACKET) {
+                    if (depth == objects.length) {
+                        objects = Arrays.copyOf(objects, depth << 1);
+                    }
+                    objects[depth++] = token == JSONToken.LBRACE;
+                    int next = token == JSONToken.LBRACE ? nextField(lexer, symbolTable) : nextArrayItem(lexer);
+                    if (next < 0) {
+                        return false;
+                    }
+                    if (next == 0) {
+                        continue;
+                    }
+                    depth--;
+                } else if (!isScalar(token)) {
+                    return false;
+                }
+                //值结束后读取逗号或所在层的结尾，直到下一个值
+                while (true) {
+                    lexer.nextToken();
+                    if (depth == 0) {
+                        return lexer.token() == JSONToken.EOF;
+                    }
+                    boolean object = objects[depth - 1];
+                    int next;
+                    if (lexer.token() == JSONToken.COMMA) {
+                        next = object ? nextField(lexer, symbolTable) : nextArrayItem(lexer);
+                    } else {
+                        next = lexer.token() == (object ? JSONToken.RBRACE : JSONToken.RBRACKET) ? 1 : -1;
+                    }
+                    if (next < 0) {
+                        return false;
+                    }
+                    if (next == 0) {
+                        break;
+                    }
+                    depth--;
+                }
+            }
+        } catch (JSONException | NumberFormatException e) {
+            return false;
+        } finally {
+            lexer.close();
+        }
+    }
+
+    /**
+     * 与 DefaultJSONParser 相同，按字符读取字段名和冒号，移动到字段值；字段名经符号表复用，不重复创建字符串
+     * @return 0 已移动到字段值，1 对象结束，-1 不合法
+     */
+    private static int nextField(JSONLexerBase lexer, SymbolTable symbolTable) {
+        lexer.skipWhitespace();
+        char ch = lexer.getCurrent();
+        if (ch == '}') {
+            lexer.next();
+            return 1;
+        }
+        if (ch == '"' || ch == '\'') {
+            lexer.scanSymbol(symbolTable, ch);
+        } else if (Character.isJavaIdentifierStart(ch)) {
+            lexer.scanSymbolUnQuoted(symbolTable);
+        } else {
+            return -1;
+        }
+        lexer.skipWhitespace();
+        if (lexer.getCurrent() != ':') {
+            return -1;
+        }
+        lexer.next();
+        lexer.nextToken();
+        return 0;
+    }
+
+    /**
+     * 移动到数组的下一个元素
+     * @return 0 已移动到元素，1 数组结束
+     */
+    private static int nextArrayItem(JSONLexerBase lexer) {
+        lexer.nextToken();
+        return lexer.token() == JSONToken.RBRACKET ? 1 : 0;
+    }
+
+    private static boolean isScalar(int token) {
+        switch (token) {
+            case JSONToken.LITERAL_STRING:
+            case JSONToken.LITERAL_INT:
+            case JSONToken.LITERAL_FLOAT:
+            case JSONToken.TRUE:
+            case JSONToken.FALSE:
+            case JSONToken.NULL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 读取基本类型数组的单个元素
+     */
+    private interface ElementReader<A> {
+        /**
+         * 读取当前token写入 values[index]，token 类型不符时返回 false
+         */
+        boolean read(JSONLexerBase lexer, A values, int index);
+    }
 }
@@ -1,12 +1,19 @@
 package com.dxy.library.json.fastjson.exception;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import com.dxy.library.exception.FormativeException;
 
 /**
+ * 出错位置取自 cause 中的 JSONException 消息（pos x, line y, column z）
  * @author duanxinyuan
  * 2019/4/10 22:35
  */
 public class FastjsonException extends FormativeException {
+
+    private static final Pattern LOCATION = Pattern.compile("pos (\\d+), line (\\d+), column (\\d+)");
+
     public FastjsonException() {
         super();
     }
@@ -22,4 +29,23 @@ public class FastjsonException extends FormativeException {
     public FastjsonException(String format, Object... arguments) {
         super(format, arguments);
     }
+
+    /**
+     * fastjson的解析异常没有结构化的位置信息，只能从消息中提取，第一次获取出错位置时提取
+     */
+    @Override
+    protected void initLocation() {
+        for (Throwable cause = getCause(); cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message == null) {
+                continue;
+            }
+            Matcher matcher = LOCATION.matcher(message);
+            if (matcher.find()) {
+                setLocation(Long.parseLong(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                    Integer.parseInt(matcher.group(3)));
+                return;
+            }
+        }
+    }
 }
@@ -1,14 +1,26 @@
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.alibaba.fastjson.JSONObject;
+import com.dxy.library.exception.FormativeException;
+import com.dxy.library.json.common.DocumentCache;
+import com.dxy.library.json.common.JsonType;
+import com.dxy.library.json.fastjson.FastjsonFields;
 import com.dxy.library.json.fastjson.FastjsonUtil;
+import com.dxy.library.json.fastjson.exception.FastjsonException;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -142,4 +154,276 @@ public class FastjsonTest {
         Assert.assertEquals(1, FastjsonUtil.getAsByte(json, "isSuccess1"));
     }
 
+    /**
+     * 测试一次解析获取多个字段
+     */
+    @Test
+    public void testGetFields() {
+        String json = "{\"code\":\"200\",\"id\":2001215464647687987,\"skip\":{\"a\":[1,2]},\"isSuccess\":\"1\","
+            + "\"trait\":[\"淡然\",\"温和\"]}";
+        FastjsonFields fields = FastjsonUtil.getAsFields(json, "code", "id", "isSuccess", "trait", "missing");
+        Assert.assertEquals(200, fields.getAsInt("code"));
+        Assert.assertEquals("200", fields.getAsString("code"));
+        Assert.assertEquals(2001215464647687987L, fields.getAsLong("id"));
+        Assert.assertTrue(fields.getAsBoolean("isSuccess"));
+        Assert.assertEquals(Arrays.asList("淡然", "温和"), fields.getAsList("trait", String.class));
+        Assert.assertFalse(fields.contains("missing"));
+        //未请求的字段不保留
+        Assert.assertFalse(fields.contains("skip"));
+        Assert.assertNull(fields.getAsJsonObject("skip"));
+        Assert.assertEquals(200, FastjsonUtil.getAsFields(json, new HashSet<>(Arrays.asList("code"))).getAsInt("code"));
+        Assert.assertFalse(FastjsonUtil.getAsFields("[1]", "code").contains("code"));
+        Assert.assertNull(fields.getAsString("missing"));
+        Assert.assertEquals(0, fields.getAsInt("missing"));
+        Assert.assertEquals(0L, fields.getAsLong("missing"));
+        Assert.assertFalse(fields.getAsBoolean("missing"));
+        Assert.assertEquals(BigInteger.ZERO, fields.getAsBigInteger("missing"));
+        Assert.assertEquals(new BigDecimal("0.0"), fields.getAsBigDecimal("missing"));
+    }
+
+    /**
+     * 测试按路径获取字段
+     */
+    @Test
+    public void testGetPath() {
+        String json = "{\"skip\":{\"sku\":\"x\"},\"order\":{\"items\":[{\"sku\":\"a\"},{\"sku\":\"b\",\"num\":\"3\"}],"
+            + "\"ok\":true},\"tail\":[1,2]}";
+        Assert.assertEquals("b", FastjsonUtil.getAsString(json, FastjsonUtil.compilePath("$.order.items[1].sku")));
+        Assert.assertEquals(3, FastjsonUtil.getAsInt(json, FastjsonUtil.compilePath("$.order.items[1].num")));
+        Assert.assertTrue(FastjsonUtil.getAsBoolean(json, FastjsonUtil.compilePath("$.order.ok")));
+        Assert.assertNull(FastjsonUtil.getAsString(json, FastjsonUtil.compilePath("$.order.items[2].sku")));
+        Assert.assertEquals(0, FastjsonUtil.getAsInt(json, FastjsonUtil.compilePath("$.order.items[2].sku")));
+        JSONObject item = FastjsonUtil.getAsJsonObject(json, FastjsonUtil.compilePath("$.order.items[0]"));
+        Assert.assertEquals("a", item.getString("sku"));
+        Assert.assertSame(FastjsonUtil.compilePath("$.order.items[1]"), FastjsonUtil.compilePath("$.order.items[1]"));
+        Assert.assertNull(FastjsonUtil.getAsString((InputStream)null, FastjsonUtil.compilePath("$.order.ok")));
+        Assert.assertNull(FastjsonUtil.getAsObject((InputStream)null, FastjsonUtil.compilePath("$.order"), Map.class));
+        //byte[] 和 InputStream 与 String 的取值一致
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(3L, FastjsonUtil.getAsLong(bytes, FastjsonUtil.compilePath("$.order.items[1].num")));
+        Assert.assertEquals(3, FastjsonUtil.getAsInt(new ByteArrayInputStream(bytes),
+            FastjsonUtil.compilePath("$.order.items[1].num")));
+        Assert.assertEquals(3.0, FastjsonUtil.getAsDouble(bytes, FastjsonUtil.compilePath("$.order.items[1].num")), 0);
+        Assert.assertTrue(FastjsonUtil.getAsBoolean(new ByteArrayInputStream(bytes),
+            FastjsonUtil.compilePath("$.order.ok")));
+        Assert.assertEquals("b", FastjsonUtil.getAsString(new ByteArrayInputStream(bytes),
+            FastjsonUtil.compilePath("$.order.items[1].sku")));
+        Assert.assertEquals(0, FastjsonUtil.getAsByte(bytes, FastjsonUtil.compilePath("$.order.items[2].sku")));
+    }
+
+    /**
+     * 测试字段直接反序列化为对象
+     */
+    @Test
+    public void testGetObject() {
+        Person person = Person.newPerson();
+        String personJson = FastjsonUtil.to(person);
+        String json = "{\"skip\":[1,2],\"person\":" + personJson + ",\"encoded\":" + FastjsonUtil.to(personJson)
+            + ",\"persons\":[" + personJson + "],\"n\":null}";
+        Assert.assertEquals(personJson, FastjsonUtil.to(FastjsonUtil.getAsObject(json, "person", Person.class)));
+        Assert.assertEquals(personJson, FastjsonUtil.to(FastjsonUtil.getAsObject(json, "encoded", Person.class)));
+        Assert.assertEquals(personJson, FastjsonUtil.to(FastjsonUtil.getAsList(json, "persons", Person.class).get(0)));
+        Assert.assertEquals(personJson, FastjsonUtil.to(FastjsonUtil.getAsObject(json, FastjsonUtil.compilePath("$.persons[0]"), Person.class)));
+        Assert.assertNull(FastjsonUtil.getAsObject(json, "n", Person.class));
+        Assert.assertNull(FastjsonUtil.getAsObject(json, "missing", Person.class));
+    }
+
+    /**
+     * 测试不采集堆栈的异常及结构化的出错位置
+     */
+    @Test
+    public void testStacklessException() {
+        FormativeException.setStackless(true);
+        try {
+            FastjsonUtil.getAsObject("{\"a\":{\"name\":}}", "a", Person.class);
+            Assert.fail();
+        } catch (FastjsonException e) {
+            Assert.assertEquals(0, e.getStackTrace().length);
+            Assert.assertNotNull(e.getCause());
+            Assert.assertFalse(e.getMessage().contains("\tat "));
+            Assert.assertEquals(Person.class, e.getTargetType());
+            Assert.assertEquals(1, e.getLine());
+            Assert.assertTrue(e.getColumn() > 0);
+        } finally {
+            FormativeException.setStackless(false);
+        }
+
+        //默认模式采集堆栈，cause 的堆栈只在 Caused by 中输出，不重复拼接到消息中
+        try {
+            FastjsonUtil.getAsObject("{\"a\":{\"name\":}}", "a", Person.class);
+            Assert.fail();
+        } catch (FastjsonException e) {
+            Assert.assertTrue(e.getStackTrace().length > 0);
+            Assert.assertFalse(e.getMessage().contains("\tat "));
+            Assert.assertEquals(1, e.getLine());
+        }
+
+        //出错位置在第一次获取时才从 cause 的消息中提取
+        AtomicInteger causeMessages = new AtomicInteger();
+        FastjsonException exception = new FastjsonException("error, json: {}", "{}", new IllegalStateException() {
+            @Override
+            public String getMessage() {
+                causeMessages.incrementAndGet();
+                return "pos 5, line 2, column 3";
+            }
+        });
+        Assert.assertEquals(0, causeMessages.get());
+        Assert.assertEquals(2, exception.getLine());
+        Assert.assertEquals(3, exception.getColumn());
+        Assert.assertEquals(1, causeMessages.get());
+    }
+
+    /**
+     * 测试流式改写json属性，属性位置不变
+     */
+    @Test
+    public void testRewrite() {
+        String json = "{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}";
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":\"y\"}",
+            FastjsonUtil.add(json, "e", "y"));
+        Assert.assertEquals("{\"a\":1,\"b\":2,\"d\":\"x\"}", FastjsonUtil.update(json, "b", 2));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]}}", FastjsonUtil.remove(json, "d"));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}", FastjsonUtil.remove(json, "e"));
+
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("f", Arrays.asList(1, 2));
+        nested.put("g", true);
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":\"{\\\"f\\\":[1,2],\\\"g\\\":true}\"}",
+            FastjsonUtil.add(json, "e", nested));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":{\"f\":[1,2],\"g\":true}}",
+            FastjsonUtil.add(json, "e", nested, true));
+        Assert.assertEquals("{\"a\":{\"f\":[1,2],\"g\":true},\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}",
+            FastjsonUtil.update(json, "a", nested, true));
+        try {
+            FastjsonUtil.add("{\"a\":", "b", 1);
+            Assert.fail();
+        } catch (FastjsonException e) {
+            Assert.assertNotNull(e.getCause());
+            Assert.assertFalse(e.getCause() instanceof FastjsonException);
+        }
+    }
+
+    /**
+     * 测试基本类型数组的解析和序列化
+     */
+    @Test
+    public void testPrimitiveArray() {
+        int[] ints = new int[100];
+        long[] longs = new long[100];
+        double[] doubles = new double[100];
+        for (int i = 0; i < 100; i++) {
+            ints[i] = i - 50;
+            longs[i] = Long.MAX_VALUE - i;
+            doubles[i] = i / 4.0;
+        }
+        String intJson = FastjsonUtil.toJson(ints);
+        String longJson = FastjsonUtil.toJson(longs);
+        String doubleJson = FastjsonUtil.toJson(doubles);
+        Assert.assertEquals(FastjsonUtil.to(ints), intJson);
+        Assert.assertEquals(FastjsonUtil.to(longs), longJson);
+        Assert.assertEquals(FastjsonUtil.to(doubles), doubleJson);
+
+        Assert.assertArrayEquals(ints, FastjsonUtil.fromIntArray(intJson));
+        Assert.assertArrayEquals(ints, FastjsonUtil.fromIntArray(intJson.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertArrayEquals(ints,
+            FastjsonUtil.fromIntArray(new ByteArrayInputStream(intJson.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertArrayEquals(longs, FastjsonUtil.fromLongArray(longJson));
+        Assert.assertArrayEquals(longs, FastjsonUtil.fromLongArray(longJson.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertArrayEquals(longs,
+            FastjsonUtil.fromLongArray(new ByteArrayInputStream(longJson.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertArrayEquals(doubles, FastjsonUtil.fromDoubleArray(doubleJson), 0);
+        Assert.assertArrayEquals(doubles, FastjsonUtil.fromDoubleArray(doubleJson.getBytes(StandardCharsets.UTF_8)), 0);
+        Assert.assertArrayEquals(doubles,
+            FastjsonUtil.fromDoubleArray(new ByteArrayInputStream(doubleJson.getBytes(StandardCharsets.UTF_8))), 0);
+
+        Assert.assertArrayEquals(new int[] {1, 0, 3}, FastjsonUtil.fromIntArray("[1,null,3]"));
+        Assert.assertArrayEquals(new double[] {1, 2.5}, FastjsonUtil.fromDoubleArray(" [1, 2.5] "), 0);
+        Assert.assertArrayEquals(new long[0], FastjsonUtil.fromLongArray("[]"));
+        Assert.assertNull(FastjsonUtil.fromIntArray("null"));
+        Assert.assertNull(FastjsonUtil.fromIntArray(""));
+        Assert.assertEquals("null", FastjsonUtil.toJson((int[])null));
+        try {
+            FastjsonUtil.fromIntArray("[1,");
+            Assert.fail();
+        } catch (FastjsonException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
+
+    /**
+     * 测试json校验
+     */
+    @Test
+    public void testIsJson() {
+        String json = "{\"a\":[1,{\"b\":null}],\"c\":\"x\",\"d\":{}}";
+        Assert.assertTrue(FastjsonUtil.isJson(json));
+        Assert.assertTrue(FastjsonUtil.isJson(json.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(FastjsonUtil.isJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertTrue(FastjsonUtil.isJson("[1,2.5,true,[]]"));
+        Assert.assertTrue(FastjsonUtil.isJson("{a:'x',}"));
+        Assert.assertFalse(FastjsonUtil.isJson(""));
+        Assert.assertFalse(FastjsonUtil.isJson("abc"));
+        Assert.assertFalse(FastjsonUtil.isJson("{}{}"));
+        Assert.assertFalse(FastjsonUtil.isJson("[1 2]"));
+        Assert.assertFalse(FastjsonUtil.isJson("{\"a\":1 x}"));
+        Assert.assertFalse(FastjsonUtil.isJson("{\"a\" 1}"));
+        Assert.assertFalse(FastjsonUtil.isJson("{\"a\":".getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(-1, FastjsonUtil.getJsonErrorOffset(json));
+        Assert.assertEquals(8, FastjsonUtil.getJsonErrorOffset("{\"a\":1 x}"));
+        Assert.assertEquals(9, FastjsonUtil.getJsonErrorOffset("{\n\"a\":1 x}"));
+        Assert.assertEquals(3, FastjsonUtil.getJsonErrorOffset("{}{}"));
+        Assert.assertEquals(5, FastjsonUtil.getJsonErrorOffset("{\"a\" 1}"));
+        //字节输入返回字节偏移
+        byte[] bytes = "{\"中\":1 x}".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(10, FastjsonUtil.getJsonErrorOffset(bytes));
+        Assert.assertEquals(10, FastjsonUtil.getJsonErrorOffset(new ByteArrayInputStream(bytes)));
+        Assert.assertEquals(-1, FastjsonUtil.getJsonErrorOffset(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 测试判断json顶层值的类型
+     */
+    @Test
+    public void testDetect() {
+        Assert.assertEquals(JsonType.OBJECT, FastjsonUtil.detect(" \n{\"a\":1}"));
+        Assert.assertEquals(JsonType.ARRAY, FastjsonUtil.detect("// c\n[1]"));
+        Assert.assertEquals(JsonType.SCALAR, FastjsonUtil.detect("\"x\""));
+        Assert.assertEquals(JsonType.SCALAR, FastjsonUtil.detect("-1.5"));
+        Assert.assertEquals(JsonType.INVALID, FastjsonUtil.detect(""));
+        Assert.assertEquals(JsonType.INVALID, FastjsonUtil.detect("<xml/>"));
+        Assert.assertEquals(JsonType.OBJECT, FastjsonUtil.detect("{\"a\":"));
+        Assert.assertEquals(JsonType.OBJECT, FastjsonUtil.detect(new byte[] {(byte)0xEF, (byte)0xBB, (byte)0xBF, '{', '}'}));
+
+        Assert.assertEquals(JsonType.OBJECT, FastjsonUtil.detect("{\"a\":[1]}", true));
+        Assert.assertEquals(JsonType.ARRAY, FastjsonUtil.detect("[1,2]".getBytes(StandardCharsets.UTF_8), true));
+        Assert.assertEquals(JsonType.SCALAR, FastjsonUtil.detect("true", true));
+        Assert.assertEquals(JsonType.INVALID, FastjsonUtil.detect("{\"a\":", true));
+        Assert.assertEquals(JsonType.INVALID, FastjsonUtil.detect("[1]]".getBytes(StandardCharsets.UTF_8), true));
+    }
+
+    /**
+     * 测试对同一个json串连续取多个字段时只解析一遍
+     */
+    @Test
+    public void testDocumentCache() {
+        DocumentCache<JSONObject> cache = FastjsonUtil.getDocumentCache();
+        cache.clear();
+        String json = "{\"name\":\"a\",\"age\":18,\"score\":1.5,\"vip\":true}";
+        Assert.assertEquals("a", FastjsonUtil.getAsString(json, "name"));
+        Assert.assertEquals(18, FastjsonUtil.getAsInt(json, "age"));
+        Assert.assertEquals(1.5, FastjsonUtil.getAsDouble(json, "score"), 0);
+        Assert.assertTrue(FastjsonUtil.getAsBoolean(new String(json.toCharArray()), "vip"));
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(3, cache.getHits());
+
+        Assert.assertEquals(20, FastjsonUtil.getAsInt("{\"age\":20}", "age"));
+        Assert.assertEquals(2, cache.getMisses());
+        try {
+            FastjsonUtil.getAsInt("{\"age\":", "age");
+            Assert.fail();
+        } catch (FormativeException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.dxy.library.json.gson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.dxy.library.json.common.JsonLinesAppender;
+import com.dxy.library.json.gson.exception.GsonException;
+
+/**
+ * JSON Lines 追加写入器，每条记录序列化为一行，缓冲和刷新策略见 {@link JsonLinesAppender}
+ * 线程安全，使用完毕必须调用 close()，建议使用 try-with-resources
+ * @author duanxinyuan
+ * 2026/10/18 18:10
+ */
+public class GsonAppender extends JsonLinesAppender {
+
+    private Writer writer;
+
+    public GsonAppender(String path) {
+        this(path, DEFAULT_BUFFER_SIZE, 0, false);
+    }
+
+    /**
+     * @param path 文件路径，不存在时创建，存在时追加
+     * @param bufferSize 缓冲区字节数，写满后写入文件
+     * @param flushIntervalMillis 定时刷新间隔（毫秒），小于等于0表示不定时刷新
+     * @param forceOnFlush 每次刷新后是否调用 force() 落盘
+     */
+    public GsonAppender(String path, int bufferSize, long flushIntervalMillis, boolean forceOnFlush) {
+        super("gson", path, bufferSize, flushIntervalMillis, forceOnFlush);
+    }
+
+    @Override
+    protected void encode(Object v, OutputStream out) throws IOException {
+        if (null == writer) {
+            writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+        try {
+            if (null == v) {
+                writer.write("null");
+            } else {
+                GsonUtil.getGson().toJson(v, v.getClass(), writer);
+            }
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            //编码器中可能残留未写出的字符，丢弃后重新创建
+            writer = null;
+            throw e;
+        }
+    }
+
+    @Override
+    protected RuntimeException newException(String format, Object... arguments) {
+        return new GsonException(format, arguments);
+    }
+}
@@ -0,0 +1,183 @@
+package com.dxy.library.json.gson;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import com.dxy.library.json.gson.exception.GsonException;
+import com.google.gson.JsonElement;
+
+/**
+ * 一次解析得到的多个字段，见 {@link GsonUtil#getAsFields(String, java.util.Set)}
+ * 取值规则和默认值与 GsonUtil.getAs* 一致
+ * @author duanxinyuan
+ * 2026/10/18 11:05
+ */
+public class GsonFields {
+    private final Map<String, JsonElement> values;
+
+    GsonFields(Map<String, JsonElement> values) {
+        this.values = values;
+    }
+
+    /**
+     * 是否包含某个字段
+     */
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * @return String，默认为 null
+     */
+    public String getAsString(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return null;
+        }
+        return GsonUtil.getAsString(jsonByKey);
+    }
+
+    /**
+     * @return int，默认为 0
+     */
+    public int getAsInt(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return 0;
+        }
+        try {
+            return jsonByKey.getAsInt();
+        } catch (Exception e) {
+            throw new GsonException("gson get int error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return long，默认为 0
+     */
+    public long getAsLong(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return 0L;
+        }
+        try {
+            return jsonByKey.getAsLong();
+        } catch (Exception e) {
+            throw new GsonException("gson get long error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return double，默认为 0.0
+     */
+    public double getAsDouble(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return 0.0;
+        }
+        try {
+            return jsonByKey.getAsDouble();
+        } catch (Exception e) {
+            throw new GsonException("gson get double error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return BigInteger，默认为 0
+     */
+    public BigInteger getAsBigInteger(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return BigInteger.ZERO;
+        }
+        try {
+            return jsonByKey.getAsBigInteger();
+        } catch (Exception e) {
+            throw new GsonException("gson get big integer error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return BigDecimal，默认为 0.0
+     */
+    public BigDecimal getAsBigDecimal(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return new BigDecimal("0.0");
+        }
+        try {
+            return jsonByKey.getAsBigDecimal();
+        } catch (Exception e) {
+            throw new GsonException("gson get big decimal error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return boolean, 默认为 false
+     */
+    public boolean getAsBoolean(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return false;
+        }
+        try {
+            return GsonUtil.getAsBoolean(jsonByKey);
+        } catch (Exception e) {
+            throw new GsonException("gson get boolean error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return byte, 默认为 0
+     */
+    public byte getAsByte(String key) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return 0;
+        }
+        try {
+            return jsonByKey.getAsByte();
+        } catch (Exception e) {
+            throw new GsonException("gson get byte error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return object, 默认为 null
+     */
+    public <V> V getAsObject(String key, Class<V> type) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return null;
+        }
+        try {
+            return GsonUtil.getAsObject(jsonByKey, type);
+        } catch (Exception e) {
+            throw new GsonException("gson get object error, key: {}, type: {}", key, type, e);
+        }
+    }
+
+    /**
+     * @return list, 默认为 null
+     */
+    public <V> List<V> getAsList(String key, Class<V> type) {
+        JsonElement jsonByKey = values.get(key);
+        if (null == jsonByKey) {
+            return null;
+        }
+        try {
+            return GsonUtil.getAsList(jsonByKey, type);
+        } catch (Exception e) {
+            throw new GsonException("gson get list error, key: {}, type: {}", key, type, e);
+        }
+    }
+
+    /**
+     * @return JsonElement, 默认为 null
+     */
+    public JsonElement getAsJsonObject(String key) {
+        return values.get(key);
+    }
+}
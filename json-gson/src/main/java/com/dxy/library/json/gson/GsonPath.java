@@ -0,0 +1,148 @@
+package com.dxy.library.json.gson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * 编译后的json路径（JSON Pointer，RFC 6901，例：/order/items/0/sku）
+ * 线程安全，可以重复使用，取值时在JsonReader上流式匹配，跳过无关的分支
+ * @author duanxinyuan
+ * 2026/10/18 14:20
+ */
+public final class GsonPath {
+
+    /**
+     * 编译结果缓存，超过上限后不再缓存
+     */
+    private static final int CACHE_SIZE = 1024;
+    private static final Map<String, GsonPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String[] properties;
+    private final int[] indexes;
+
+    private GsonPath(String path, String[] properties, int[] indexes) {
+        this.path = path;
+        this.properties = properties;
+        this.indexes = indexes;
+    }
+
+    /**
+     * 编译json路径，编译结果会被缓存
+     * @param path JSON Pointer，"" 表示整个文档，"~1" 转义 "/"，"~0" 转义 "~"
+     */
+    public static GsonPath compile(String path) {
+        GsonPath gsonPath = CACHE.get(path);
+        if (null == gsonPath) {
+            gsonPath = parse(path);
+            if (CACHE.size() < CACHE_SIZE) {
+                CACHE.putIfAbsent(path, gsonPath);
+            }
+        }
+        return gsonPath;
+    }
+
+    private static GsonPath parse(String path) {
+        if (path.isEmpty()) {
+            return new GsonPath(path, new String[0], new int[0]);
+        }
+        if (path.charAt(0) != '/') {
+            throw new IllegalArgumentException("Invalid json pointer, must start with '/': " + path);
+        }
+        List<String> segments = new ArrayList<>();
+        int start = 1;
+        while (true) {
+            int end = path.indexOf('/', start);
+            String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+            segments.add(segment.replace("~1", "/").replace("~0", "~"));
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        String[] properties = segments.toArray(new String[0]);
+        int[] indexes = new int[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            indexes[i] = parseIndex(properties[i]);
+        }
+        return new GsonPath(path, properties, indexes);
+    }
+
+    /**
+     * 数组下标只允许非负整数，且不能有前导0
+     */
+    private static int parseIndex(String segment) {
+        int length = segment.length();
+        if (length == 0 || length > 9 || (length > 1 && segment.charAt(0) == '0')) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(segment);
+    }
+
+    /**
+     * 将reader定位到路径对应的值上
+     * @return 是否找到路径
+     */
+    boolean seek(JsonReader reader) throws IOException {
+        for (int i = 0; i < properties.length; i++) {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.BEGIN_OBJECT) {
+                if (!seekProperty(reader, properties[i])) {
+                    return false;
+                }
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                if (!seekElement(reader, indexes[i])) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return reader.peek() != JsonToken.END_DOCUMENT;
+    }
+
+    /**
+     * 在reader当前所在的对象中查找字段，其它字段的值直接跳过
+     */
+    static boolean seekProperty(JsonReader reader, String property) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(property)) {
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    private static boolean seekElement(JsonReader reader, int index) throws IOException {
+        if (index < 0) {
+            return false;
+        }
+        reader.beginArray();
+        for (int i = 0; reader.hasNext(); i++) {
+            if (i == index) {
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
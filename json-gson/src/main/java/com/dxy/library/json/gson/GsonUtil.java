@@ -1,26 +1,45 @@
 package com.dxy.library.json.gson;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FilterReader;
 import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import com.dxy.library.json.common.DocumentCache;
+import com.dxy.library.json.common.JsonType;
+import com.dxy.library.json.common.ParseResultCache;
+import com.dxy.library.json.common.StringCanonicalizer;
+import com.dxy.library.json.gson.adapter.CanonicalStringAdapter;
 import com.dxy.library.json.gson.adapter.LocalDateAdapter;
 import com.dxy.library.json.gson.adapter.LocalDateTimeAdapter;
 import com.dxy.library.json.gson.adapter.LocalTimeAdapter;
@@ -38,9 +57,9 @@ import com.dxy.library.json.gson.adapter.NumberTypeAdapter.IntAdapter;
 import com.dxy.library.json.gson.adapter.NumberTypeAdapter.LongAdapter;
 import com.dxy.library.json.gson.adapter.NumberTypeAdapter.ShortAdapter;
 import com.dxy.library.json.gson.exception.GsonException;
+import com.google.common.io.ByteStreams;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -49,7 +68,9 @@ import com.google.gson.JsonSyntaxException;
 import com.google.gson.Strictness;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -66,9 +87,30 @@ import org.apache.commons.lang3.StringUtils;
 @SuppressWarnings("unchecked")
 @Slf4j
 public class GsonUtil {
-    private static final Gson GSON;
+    private static volatile Gson GSON;
     private static final Gson GSON_PRETTY;
 
+    /**
+     * 反序列化结果缓存，默认不开启
+     */
+    private static volatile ParseResultCache parseResultCache;
+
+    /**
+     * getAs*(json, key) 最近解析的文档
+     */
+    private static final DocumentCache<JsonElement> DOCUMENT_CACHE = new DocumentCache<>();
+
+    /**
+     * 顶层没有引号的数值字面量，与 Jackson 允许的写法一致（前导 0、NaN、Infinity、INF）
+     */
+    private static final Pattern UNQUOTED_NUMBER = Pattern.compile(
+        "-?(\\d+(\\.\\d+)?([eE][+-]?\\d+)?|Infinity|INF)|\\+(Infinity|INF)|NaN");
+
+    /**
+     * JsonReader.toString() 中的行号和列号
+     */
+    private static final Pattern LOCATION = Pattern.compile(" at line (\\d+) column (\\d+) ");
+
     static {
         GsonBuilder gsonBuilder = new GsonBuilder().setDateFormat("yyyy-MM-dd HH:mm:ss");
         gsonBuilder.disableHtmlEscaping();//禁止将部分特殊字符转义为unicode编码
@@ -97,6 +139,33 @@ public class GsonUtil {
         gsonBuilder.registerTypeAdapter(LocalTime.class, new LocalTimeAdapter());
     }
 
+    static Gson getGson() {
+        return GSON;
+    }
+
+    /**
+     * 开启字符串值规范化，相同内容的短字符串共用同一个实例，适用于取值重复度很高的数据
+     * 命中率通过 canonicalizer 的 getHits()/getMisses() 查看
+     */
+    public static void enableStringCanonicalization(StringCanonicalizer canonicalizer) {
+        GSON = GSON.newBuilder().registerTypeAdapter(String.class, new CanonicalStringAdapter(canonicalizer)).create();
+    }
+
+    /**
+     * 开启反序列化结果缓存，from(String, ...) 解析声明为不可变的类型时，相同的json串直接返回上次的结果
+     * 命中率通过 cache 的 getHits()/getMisses()/getEvictions() 查看，传入 null 时关闭
+     */
+    public static void enableParseResultCache(ParseResultCache cache) {
+        parseResultCache = cache;
+    }
+
+    /**
+     * getAs*(json, key) 最近解析的文档缓存，对同一个json串连续取多个字段时只解析一遍
+     */
+    public static DocumentCache<JsonElement> getDocumentCache() {
+        return DOCUMENT_CACHE;
+    }
+
     /**
      * JSON反序列化
      */
@@ -141,10 +210,7 @@ public class GsonUtil {
      * JSON反序列化
      */
     public static <V> V from(String json, Class<V> type) {
-        if (StringUtils.isEmpty(json)) {
-            return null;
-        }
-        return GSON.fromJson(json, type);
+        return from(json, (Type)type);
     }
 
     /**
@@ -154,6 +220,10 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
+        ParseResultCache cache = parseResultCache;
+        if (null != cache) {
+            return cache.get(json, type, value -> GSON.fromJson(value, type));
+        }
         return GSON.fromJson(json, type);
     }
 
@@ -161,10 +231,7 @@ public class GsonUtil {
      * JSON反序列化
      */
     public static <V> V from(String json, TypeToken<V> typeToken) {
-        if (StringUtils.isEmpty(json)) {
-            return null;
-        }
-        return GSON.fromJson(json, typeToken.getType());
+        return from(json, typeToken.getType());
     }
 
     /**
@@ -333,6 +400,123 @@ public class GsonUtil {
         return GSON.fromJson(reader, typeToken.getType());
     }
 
+    /**
+     * JSON反序列化（int[]），逐个读取数值写入可扩容的 int[]，元素不装箱
+     */
+    public static int[] fromIntArray(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return readIntArray(new JsonReader(new StringReader(json)));
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, json: {}, type: {}", json, int[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（int[]），输入为UTF-8编码的字节
+     */
+    public static int[] fromIntArray(byte[] json) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return readIntArray(newReader(new ByteArrayInputStream(json)));
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, json length: {}, type: {}", json.length, int[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（int[]），读取完成后关闭 inputStream
+     */
+    public static int[] fromIntArray(InputStream inputStream) {
+        try (JsonReader reader = newReader(Objects.requireNonNull(inputStream))) {
+            return readIntArray(reader);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, type: {}", int[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（long[]），逐个读取数值写入可扩容的 long[]，元素不装箱
+     */
+    public static long[] fromLongArray(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return readLongArray(new JsonReader(new StringReader(json)));
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, json: {}, type: {}", json, long[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（long[]），输入为UTF-8编码的字节
+     */
+    public static long[] fromLongArray(byte[] json) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return readLongArray(newReader(new ByteArrayInputStream(json)));
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, json length: {}, type: {}", json.length, long[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（long[]），读取完成后关闭 inputStream
+     */
+    public static long[] fromLongArray(InputStream inputStream) {
+        try (JsonReader reader = newReader(Objects.requireNonNull(inputStream))) {
+            return readLongArray(reader);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, type: {}", long[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（double[]），逐个读取数值写入可扩容的 double[]，元素不装箱
+     */
+    public static double[] fromDoubleArray(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return readDoubleArray(new JsonReader(new StringReader(json)));
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, json: {}, type: {}", json, double[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（double[]），输入为UTF-8编码的字节
+     */
+    public static double[] fromDoubleArray(byte[] json) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return readDoubleArray(newReader(new ByteArrayInputStream(json)));
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, json length: {}, type: {}", json.length, double[].class, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（double[]），读取完成后关闭 inputStream
+     */
+    public static double[] fromDoubleArray(InputStream inputStream) {
+        try (JsonReader reader = newReader(Objects.requireNonNull(inputStream))) {
+            return readDoubleArray(reader);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson from error, type: {}", double[].class, e);
+        }
+    }
+
     /**
      * 序列化为JSON
      */
@@ -348,7 +532,70 @@ public class GsonUtil {
     }
 
     /**
-     * 序列化为JSON文件
+     * 序列化为JSON（int[]），直接写出数值，不经过反射和装箱
+     */
+    public static String toJson(int[] values) {
+        if (null == values) {
+            return "null";
+        }
+        StringWriter out = new StringWriter(values.length * 4 + 2);
+        try {
+            JsonWriter writer = new JsonWriter(out);
+            writer.beginArray();
+            for (int value : values) {
+                writer.value(value);
+            }
+            writer.endArray();
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson to error, data: {}", values, e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 序列化为JSON（long[]），直接写出数值，不经过反射和装箱
+     */
+    public static String toJson(long[] values) {
+        if (null == values) {
+            return "null";
+        }
+        StringWriter out = new StringWriter(values.length * 4 + 2);
+        try {
+            JsonWriter writer = new JsonWriter(out);
+            writer.beginArray();
+            for (long value : values) {
+                writer.value(value);
+            }
+            writer.endArray();
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson to error, data: {}", values, e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 序列化为JSON（double[]），直接写出数值，不经过反射和装箱
+     */
+    public static String toJson(double[] values) {
+        if (null == values) {
+            return "null";
+        }
+        StringWriter out = new StringWriter(values.length * 4 + 2);
+        try {
+            JsonWriter writer = new JsonWriter(out);
+            writer.beginArray();
+            for (double value : values) {
+                writer.value(value);
+            }
+            writer.endArray();
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson to error, data: {}", values, e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 序列化为JSON文件，每次调用都会打开、关闭文件，大量追加写入时使用 {@link GsonAppender}
      */
     public static <V> void toFile(String path, List<V> list) {
         try (JsonWriter jsonWriter = new JsonWriter(new FileWriter(new File(path), true));) {
@@ -360,7 +607,7 @@ public class GsonUtil {
     }
 
     /**
-     * 序列化为JSON文件
+     * 序列化为JSON文件，每次调用都会打开、关闭文件，大量追加写入时使用 {@link GsonAppender}
      */
     public static <V> void toFile(String path, V v) {
         try (JsonWriter jsonWriter = new JsonWriter(new FileWriter(new File(path), true));) {
@@ -379,15 +626,22 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
-        String propertyValue;
-        JsonElement jsonByKey = getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
             return null;
         }
+        return getAsString(jsonByKey);
+    }
+
+    /**
+     * 读取字段值，对象和数组输出为json串
+     */
+    static String getAsString(JsonElement jsonElement) {
+        String propertyValue;
         try {
-            propertyValue = jsonByKey.getAsString();
+            propertyValue = jsonElement.getAsString();
         } catch (Exception e) {
-            propertyValue = jsonByKey.toString();
+            propertyValue = jsonElement.toString();
         }
         return propertyValue;
     }
@@ -400,7 +654,7 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0;
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
             return 0;
         }
@@ -419,7 +673,7 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0L;
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
             return 0L;
         }
@@ -438,7 +692,7 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0.0;
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
             return 0.0;
         }
@@ -451,15 +705,15 @@ public class GsonUtil {
 
     /**
      * 从json串中获取某个字段
-     * @return BigInteger，默认为 0.0
+     * @return BigInteger，默认为 0
      */
     public static BigInteger getAsBigInteger(String json, String key) {
         if (StringUtils.isEmpty(json)) {
-            return new BigInteger(String.valueOf(0.00));
+            return BigInteger.ZERO;
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
-            return new BigInteger(String.valueOf(0.00));
+            return BigInteger.ZERO;
         }
         try {
             return jsonByKey.getAsBigInteger();
@@ -476,7 +730,7 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return new BigDecimal("0.0");
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
             return new BigDecimal("0.0");
         }
@@ -495,30 +749,38 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return false;
         }
-        JsonPrimitive jsonByKey = (JsonPrimitive)getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
             return false;
         }
         try {
-            if (jsonByKey.isBoolean()) {
-                return jsonByKey.getAsBoolean();
-            } else {
-                if (jsonByKey.isString()) {
-                    String string = jsonByKey.getAsString();
-                    if ("1".equals(string)) {
-                        return true;
-                    } else {
-                        return BooleanUtils.toBoolean(string);
-                    }
-                } else {//number
-                    return BooleanUtils.toBoolean(jsonByKey.getAsInt());
-                }
-            }
+            return getAsBoolean(jsonByKey);
         } catch (Exception e) {
             throw new GsonException("gson get boolean error, json: {}, key: {}", json, key, e);
         }
     }
 
+    /**
+     * 读取字段值，兼容 "true"、"1"、数字等写法
+     */
+    static boolean getAsBoolean(JsonElement jsonElement) {
+        JsonPrimitive jsonPrimitive = (JsonPrimitive)jsonElement;
+        if (jsonPrimitive.isBoolean()) {
+            return jsonPrimitive.getAsBoolean();
+        } else {
+            if (jsonPrimitive.isString()) {
+                String string = jsonPrimitive.getAsString();
+                if ("1".equals(string)) {
+                    return true;
+                } else {
+                    return BooleanUtils.toBoolean(string);
+                }
+            } else {//number
+                return BooleanUtils.toBoolean(jsonPrimitive.getAsInt());
+            }
+        }
+    }
+
     /**
      * 从json串中获取某个字段
      * @return byte, 默认为 0
@@ -527,7 +789,7 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0;
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
+        JsonElement jsonByKey = getElement(json, key);
         if (null == jsonByKey) {
             return 0;
         }
@@ -546,15 +808,22 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
-        if (null == jsonByKey) {
-            return null;
-        }
         try {
-            return from(jsonByKey.getAsString(), type);
+            return getAsObject(new JsonReader(new StringReader(json)), key, type);
         } catch (Exception e) {
-            throw new GsonException("gson get list error, json: {}, key: {}, type: {}", json, key, type, e);
+            throw new GsonException("gson get object error, json: {}, key: {}, type: {}", json, key, type, e);
+        }
+    }
+
+    /**
+     * 将字段值反序列化为指定类型，直接从JsonElement绑定，不再转成json串重新解析
+     * 字符串值视为内嵌的json串，兼容字段值被二次编码的情况
+     */
+    static <V> V getAsObject(JsonElement jsonElement, Type type) {
+        if (jsonElement.isJsonPrimitive() && jsonElement.getAsJsonPrimitive().isString()) {
+            return from(jsonElement.getAsString(), type);
         }
+        return GSON.fromJson(jsonElement, type);
     }
 
     /**
@@ -565,19 +834,21 @@ public class GsonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
-        JsonElement jsonByKey = getAsJsonObject(json, key);
-        if (null == jsonByKey) {
-            return null;
-        }
         try {
-            JsonArray jsonArray = jsonByKey.getAsJsonArray();
-            TypeToken<List<V>> typeToken = (TypeToken<List<V>>)TypeToken.getParameterized(ArrayList.class, type);
-            return from(jsonArray.toString(), typeToken);
+            Type listType = TypeToken.getParameterized(ArrayList.class, type).getType();
+            return getAsObject(new JsonReader(new StringReader(json)), key, listType);
         } catch (Exception e) {
             throw new GsonException("gson get list error, json: {}, key: {}, type: {}", json, key, type, e);
         }
     }
 
+    /**
+     * 将字段值反序列化为List
+     */
+    static <V> List<V> getAsList(JsonElement jsonElement, Class<V> type) {
+        return getAsObject(jsonElement, TypeToken.getParameterized(ArrayList.class, type).getType());
+    }
+
     /**
      * 从json串中获取某个字段
      */
@@ -592,72 +863,1105 @@ public class GsonUtil {
     }
 
     /**
-     * 向json中添加属性
-     * @return json
+     * 获取顶层对象的字段，解析后的文档由 {@link #getDocumentCache()} 缓存，只能读取，不能返回给调用方
      */
-    public static <V> String add(String json, String key, V value) {
-        JsonElement element = JsonParser.parseString(json);
-        JsonObject jsonObject = element.getAsJsonObject();
-        add(jsonObject, key, value);
-        return jsonObject.toString();
+    private static JsonElement getElement(String json, String key) {
+        try {
+            return DOCUMENT_CACHE.get(json, JsonParser::parseString).getAsJsonObject().get(key);
+        } catch (JsonSyntaxException e) {
+            throw new GsonException("gson get object from json error, json: {}, key: {}", json, key, e);
+        }
     }
 
     /**
-     * 向json中添加属性
+     * 编译json路径（JSON Pointer，例：/order/items/0/sku），编译结果会被缓存
+     * 编译后的路径可以重复使用，取值时流式匹配，跳过无关的分支
      */
-    private static <V> void add(JsonObject jsonObject, String key, V value) {
-        if (value instanceof String) {
-            jsonObject.addProperty(key, (String)value);
-        } else if (value instanceof Number) {
-            jsonObject.addProperty(key, (Number)value);
-        } else {
-            jsonObject.addProperty(key, to(value));
+    public static GsonPath compilePath(String path) {
+        return GsonPath.compile(path);
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return String，默认为 null
+     */
+    public static String getAsString(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return null;
         }
+        return getAsString(jsonByPath);
     }
 
     /**
-     * 除去json中的某个属性
-     * @return json
+     * 从json中按路径获取某个字段
+     * @return String，默认为 null
      */
-    public static String remove(String json, String key) {
-        JsonElement element = JsonParser.parseString(json);
-        if (element.isJsonObject()) {
-            JsonObject jsonObj = element.getAsJsonObject();
-            jsonObj.remove(key);
+    public static String getAsString(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return null;
         }
-        return element.toString();
+        return getAsString(jsonByPath);
     }
 
     /**
-     * 修改json中的属性
+     * 从json中按路径获取某个字段
+     * @return String，默认为 null
      */
-    public static <V> String update(String json, String key, V value) {
-        JsonElement element = JsonParser.parseString(json);
-        JsonObject jsonObject = element.getAsJsonObject();
-        jsonObject.remove(key);
-        add(jsonObject, key, value);
-        return jsonObject.toString();
+    public static String getAsString(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return null;
+        }
+        return getAsString(jsonByPath);
     }
 
     /**
-     * 格式化Json(美化)
-     * @return json
+     * 从json串中按路径获取某个字段
+     * @return int，默认为 0
      */
-    public static String format(String json) {
-        JsonElement jsonElement = JsonParser.parseString(json);
-        return GSON_PRETTY.toJson(jsonElement);
+    public static int getAsInt(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0;
+        }
+        try {
+            return jsonByPath.getAsInt();
+        } catch (Exception e) {
+            throw new GsonException("gson get int error, json: {}, path: {}", json, path, e);
+        }
     }
 
     /**
-     * 判断字符串是否是json
-     * @return json
+     * 从json中按路径获取某个字段
+     * @return int，默认为 0
      */
-    public static boolean isJson(String json) {
+    public static int getAsInt(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0;
+        }
         try {
-            return JsonParser.parseString(json).isJsonObject();
+            return jsonByPath.getAsInt();
         } catch (Exception e) {
-            return false;
+            throw new GsonException("gson get int error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return int，默认为 0
+     */
+    public static int getAsInt(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return 0;
+        }
+        try {
+            return jsonByPath.getAsInt();
+        } catch (Exception e) {
+            throw new GsonException("gson get int error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0L;
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0L;
+        }
+        try {
+            return jsonByPath.getAsLong();
+        } catch (Exception e) {
+            throw new GsonException("gson get long error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0L;
+        }
+        try {
+            return jsonByPath.getAsLong();
+        } catch (Exception e) {
+            throw new GsonException("gson get long error, path: {}", path, e);
         }
     }
 
+    /**
+     * 从json中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return 0L;
+        }
+        try {
+            return jsonByPath.getAsLong();
+        } catch (Exception e) {
+            throw new GsonException("gson get long error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0.0;
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0.0;
+        }
+        try {
+            return jsonByPath.getAsDouble();
+        } catch (Exception e) {
+            throw new GsonException("gson get double error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0.0;
+        }
+        try {
+            return jsonByPath.getAsDouble();
+        } catch (Exception e) {
+            throw new GsonException("gson get double error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return 0.0;
+        }
+        try {
+            return jsonByPath.getAsDouble();
+        } catch (Exception e) {
+            throw new GsonException("gson get double error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return BigInteger.ZERO;
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return BigInteger.ZERO;
+        }
+        try {
+            return jsonByPath.getAsBigInteger();
+        } catch (Exception e) {
+            throw new GsonException("gson get big integer error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return BigInteger.ZERO;
+        }
+        try {
+            return jsonByPath.getAsBigInteger();
+        } catch (Exception e) {
+            throw new GsonException("gson get big integer error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return BigInteger.ZERO;
+        }
+        try {
+            return jsonByPath.getAsBigInteger();
+        } catch (Exception e) {
+            throw new GsonException("gson get big integer error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return BigDecimal，默认为 0.0
+     */
+    public static BigDecimal getAsBigDecimal(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return new BigDecimal("0.0");
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return new BigDecimal("0.0");
+        }
+        try {
+            return jsonByPath.getAsBigDecimal();
+        } catch (Exception e) {
+            throw new GsonException("gson get big decimal error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigDecimal，默认为 0.0
+     */
+    public static BigDecimal getAsBigDecimal(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return new BigDecimal("0.0");
+        }
+        try {
+            return jsonByPath.getAsBigDecimal();
+        } catch (Exception e) {
+            throw new GsonException("gson get big decimal error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigDecimal，默认为 0.0
+     */
+    public static BigDecimal getAsBigDecimal(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return new BigDecimal("0.0");
+        }
+        try {
+            return jsonByPath.getAsBigDecimal();
+        } catch (Exception e) {
+            throw new GsonException("gson get big decimal error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return boolean, 默认为 false
+     */
+    public static boolean getAsBoolean(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return false;
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return false;
+        }
+        try {
+            return getAsBoolean(jsonByPath);
+        } catch (Exception e) {
+            throw new GsonException("gson get boolean error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return boolean, 默认为 false
+     */
+    public static boolean getAsBoolean(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return false;
+        }
+        try {
+            return getAsBoolean(jsonByPath);
+        } catch (Exception e) {
+            throw new GsonException("gson get boolean error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return boolean, 默认为 false
+     */
+    public static boolean getAsBoolean(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return false;
+        }
+        try {
+            return getAsBoolean(jsonByPath);
+        } catch (Exception e) {
+            throw new GsonException("gson get boolean error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0;
+        }
+        try {
+            return jsonByPath.getAsByte();
+        } catch (Exception e) {
+            throw new GsonException("gson get byte error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(byte[] json, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(json, path);
+        if (null == jsonByPath) {
+            return 0;
+        }
+        try {
+            return jsonByPath.getAsByte();
+        } catch (Exception e) {
+            throw new GsonException("gson get byte error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(InputStream inputStream, GsonPath path) {
+        JsonElement jsonByPath = getAsJsonObject(inputStream, path);
+        if (null == jsonByPath) {
+            return 0;
+        }
+        try {
+            return jsonByPath.getAsByte();
+        } catch (Exception e) {
+            throw new GsonException("gson get byte error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(String json, GsonPath path, Class<V> type) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return getAsObject(new JsonReader(new StringReader(json)), path, type);
+        } catch (Exception e) {
+            throw new GsonException("gson get object error, json: {}, path: {}, type: {}", json, path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(byte[] json, GsonPath path, Class<V> type) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return getAsObject(new JsonReader(new StringReader(new String(json, StandardCharsets.UTF_8))), path, type);
+        } catch (Exception e) {
+            throw new GsonException("gson get object error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(InputStream inputStream, GsonPath path, Class<V> type) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(Objects.requireNonNull(inputStream),
+            StandardCharsets.UTF_8))) {
+            return getAsObject(reader, path, type);
+        } catch (Exception e) {
+            throw new GsonException("gson get object error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(String json, GsonPath path, Class<V> type) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            Type listType = TypeToken.getParameterized(ArrayList.class, type).getType();
+            return getAsObject(new JsonReader(new StringReader(json)), path, listType);
+        } catch (Exception e) {
+            throw new GsonException("gson get list error, json: {}, path: {}, type: {}", json, path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(byte[] json, GsonPath path, Class<V> type) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            Type listType = TypeToken.getParameterized(ArrayList.class, type).getType();
+            return getAsObject(new JsonReader(new StringReader(new String(json, StandardCharsets.UTF_8))), path,
+                listType);
+        } catch (Exception e) {
+            throw new GsonException("gson get list error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(InputStream inputStream, GsonPath path, Class<V> type) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(Objects.requireNonNull(inputStream),
+            StandardCharsets.UTF_8))) {
+            Type listType = TypeToken.getParameterized(ArrayList.class, type).getType();
+            return getAsObject(reader, path, listType);
+        } catch (Exception e) {
+            throw new GsonException("gson get list error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段，只构建目标字段的JsonElement
+     */
+    public static JsonElement getAsJsonObject(String json, GsonPath path) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try {
+            return getAsJsonObject(new JsonReader(new StringReader(json)), path);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson get object from json error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段，只构建目标字段的JsonElement
+     */
+    public static JsonElement getAsJsonObject(byte[] json, GsonPath path) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return getAsJsonObject(new JsonReader(new StringReader(new String(json, StandardCharsets.UTF_8))), path);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson get object from json error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段，只构建目标字段的JsonElement
+     */
+    public static JsonElement getAsJsonObject(InputStream inputStream, GsonPath path) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(Objects.requireNonNull(inputStream),
+            StandardCharsets.UTF_8))) {
+            return getAsJsonObject(reader, path);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson get object from json error, path: {}", path, e);
+        }
+    }
+
+    private static JsonElement getAsJsonObject(JsonReader reader, GsonPath path) throws IOException {
+        reader.setStrictness(Strictness.LENIENT);
+        return path.seek(reader) ? JsonParser.parseReader(reader) : null;
+    }
+
+    private static <V> V getAsObject(JsonReader reader, String key, Type type) throws IOException {
+        reader.setStrictness(Strictness.LENIENT);
+        if (reader.peek() != JsonToken.BEGIN_OBJECT || !GsonPath.seekProperty(reader, key)) {
+            return null;
+        }
+        return getAsObject(reader, type);
+    }
+
+    private static <V> V getAsObject(JsonReader reader, GsonPath path, Type type) throws IOException {
+        reader.setStrictness(Strictness.LENIENT);
+        return path.seek(reader) ? getAsObject(reader, type) : null;
+    }
+
+    /**
+     * 将reader当前位置的值反序列化为指定类型，直接从token流绑定，目标字段只解析一遍
+     * 字符串值视为内嵌的json串，兼容字段值被二次编码的情况
+     */
+    private static <V> V getAsObject(JsonReader reader, Type type) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return from(reader.nextString(), type);
+        }
+        return GSON.fromJson(reader, type);
+    }
+
+    /**
+     * 从json串中一次性获取多个字段，只解析一遍
+     * @return 字段集合，不存在的字段取值时返回与 getAs* 相同的默认值
+     */
+    public static GsonFields getAsFields(String json, String... keys) {
+        return getAsFields(json, new HashSet<>(Arrays.asList(keys)));
+    }
+
+    /**
+     * 从json串中一次性获取多个字段，只解析一遍
+     * 其它字段直接跳过，所有字段都找到后立即返回，keys 可以预先构建好重复使用
+     * @return 字段集合，不存在的字段取值时返回与 getAs* 相同的默认值
+     */
+    public static GsonFields getAsFields(String json, Set<String> keys) {
+        Map<String, JsonElement> values = new HashMap<>();
+        if (StringUtils.isEmpty(json)) {
+            return new GsonFields(values);
+        }
+        try {
+            JsonReader reader = new JsonReader(new StringReader(json));
+            reader.setStrictness(Strictness.LENIENT);
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return new GsonFields(values);
+            }
+            reader.beginObject();
+            while (values.size() < keys.size() && reader.hasNext()) {
+                String name = reader.nextName();
+                if (keys.contains(name) && !values.containsKey(name)) {
+                    values.put(name, JsonParser.parseReader(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            return new GsonFields(values);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson get fields error, json: {}, keys: {}", json, keys, e);
+        }
+    }
+
+    /**
+     * 向json中添加属性，属性已存在时替换
+     * @return json
+     */
+    public static <V> String add(String json, String key, V value) {
+        return add(json, key, value, false);
+    }
+
+    /**
+     * 向json中添加属性，属性已存在时替换
+     * @param nested 为 true 时对象、集合等按json结构写入，为 false 时写入序列化后的json串
+     */
+    public static <V> String add(String json, String key, V value, boolean nested) {
+        try {
+            return rewrite(json, key, value, false, nested);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson add error, json: {}, key: {}, value: {}", json, key, value, e);
+        }
+    }
+
+    /**
+     * 除去json中的某个属性
+     * @return json
+     */
+    public static String remove(String json, String key) {
+        try {
+            return rewrite(json, key, null, true, false);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson remove error, json: {}, key: {}", json, key, e);
+        }
+    }
+
+    /**
+     * 修改json中的属性，属性位置不变，属性不存在时添加到末尾
+     */
+    public static <V> String update(String json, String key, V value) {
+        return update(json, key, value, false);
+    }
+
+    /**
+     * 修改json中的属性，属性位置不变，属性不存在时添加到末尾
+     * @param nested 为 true 时对象、集合等按json结构写入，为 false 时写入序列化后的json串
+     */
+    public static <V> String update(String json, String key, V value, boolean nested) {
+        try {
+            return rewrite(json, key, value, false, nested);
+        } catch (IOException | RuntimeException e) {
+            throw new GsonException("gson update error, json: {}, key: {}, value: {}", json, key, value, e);
+        }
+    }
+
+    /**
+     * 流式改写json的顶层属性，不构建整棵树
+     * 其他属性按token原样复制，目标属性在原位置替换或删除，不存在时添加到末尾
+     * 顶层不是对象时，remove 原样输出，add/update 抛出异常
+     */
+    private static <V> String rewrite(String json, String key, V value, boolean remove,
+        boolean nested) throws IOException {
+        StringWriter out = new StringWriter(json.length() + 16);
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.setStrictness(Strictness.LENIENT);
+        JsonWriter writer = new JsonWriter(out);
+        writer.setStrictness(Strictness.LENIENT);
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            if (!remove) {
+                throw new IllegalStateException("Not a JSON Object: " + json);
+            }
+            copy(reader, writer);
+        } else {
+            reader.beginObject();
+            writer.beginObject();
+            boolean found = false;
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (!found && name.equals(key)) {
+                    found = true;
+                    reader.skipValue();
+                    if (!remove) {
+                        writeValue(writer.name(name), value, nested);
+                    }
+                } else {
+                    writer.name(name);
+                    copy(reader, writer);
+                }
+            }
+            if (!found && !remove) {
+                writeValue(writer.name(key), value, nested);
+            }
+            reader.endObject();
+            writer.endObject();
+        }
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
+        }
+        writer.flush();
+        return out.toString();
+    }
+
+    /**
+     * 复制reader当前位置的值，对象和数组逐个token复制，不构建JsonElement
+     */
+    private static void copy(JsonReader reader, JsonWriter writer) throws IOException {
+        int depth = 0;
+        do {
+            switch (reader.peek()) {
+                case BEGIN_OBJECT:
+                    reader.beginObject();
+                    writer.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    reader.endObject();
+                    writer.endObject();
+                    depth--;
+                    break;
+                case BEGIN_ARRAY:
+                    reader.beginArray();
+                    writer.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    reader.endArray();
+                    writer.endArray();
+                    depth--;
+                    break;
+                case NAME:
+                    writer.name(reader.nextName());
+                    break;
+                case STRING:
+                    writer.value(reader.nextString());
+                    break;
+                case NUMBER:
+                    //数值按原始字面量输出，不损失精度
+                    writer.jsonValue(reader.nextString());
+                    break;
+                case BOOLEAN:
+                    writer.value(reader.nextBoolean());
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    writer.nullValue();
+                    break;
+                default:
+                    throw new JsonSyntaxException("Unexpected end of document");
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * 写入属性值，字符串、数值按原类型写入，其他类型写入序列化后的json串
+     * nested 为 true 时直接序列化到输出中，对象、集合等作为json结构写入，不需要再次转义
+     */
+    private static <V> void writeValue(JsonWriter writer, V value, boolean nested) throws IOException {
+        if (nested && null == value) {
+            //Gson.toJson 按 Gson 的配置不输出 null，属性名也会一起丢弃，因此直接写入 null
+            writer.nullValue();
+        } else if (nested) {
+            GSON.toJson(value, value.getClass(), writer);
+        } else if (value instanceof String) {
+            writer.value((String)value);
+        } else if (value instanceof Number) {
+            writer.value((Number)value);
+        } else {
+            writer.value(to(value));
+        }
+    }
+
+    private static JsonReader newReader(InputStream inputStream) {
+        return new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    private static int[] readIntArray(JsonReader reader) throws IOException {
+        return readArray(reader, int[]::new, (r, values, index) -> values[index] = r.nextInt());
+    }
+
+    private static long[] readLongArray(JsonReader reader) throws IOException {
+        return readArray(reader, long[]::new, (r, values, index) -> values[index] = r.nextLong());
+    }
+
+    private static double[] readDoubleArray(JsonReader reader) throws IOException {
+        return readArray(reader, double[]::new, (r, values, index) -> values[index] = r.nextDouble());
+    }
+
+    /**
+     * 读取基本类型数组，容量不足时翻倍扩容，读取完成后截取到实际长度
+     * 元素为 null 时读取为 0，顶层为 null 时返回 null
+     * @param newArray 创建指定长度的数组
+     * @param elementReader 读取当前元素写入数组
+     */
+    private static <A> A readArray(JsonReader reader, IntFunction<A> newArray, ElementReader<A> elementReader)
+        throws IOException {
+        reader.setStrictness(Strictness.LENIENT);
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        int capacity = 16;
+        A values = newArray.apply(capacity);
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (size == capacity) {
+                capacity <<= 1;
+                values = copyOf(values, size, capacity, newArray);
+            }
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else {
+                elementReader.read(reader, values, size);
+            }
+            size++;
+        }
+        reader.endArray();
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
+        }
+        return size == capacity ? values : copyOf(values, size, size, newArray);
+    }
+
+    private static <A> A copyOf(A values, int size, int length, IntFunction<A> newArray) {
+        A copy = newArray.apply(length);
+        System.arraycopy(values, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * 格式化Json(美化)
+     * @return json
+     */
+    public static String format(String json) {
+        JsonElement jsonElement = JsonParser.parseString(json);
+        return GSON_PRETTY.toJson(jsonElement);
+    }
+
+    /**
+     * 判断json顶层值的类型，只读取第一个有效字符，不校验之后的内容
+     */
+    public static JsonType detect(String json) {
+        return JsonType.detect(json);
+    }
+
+    /**
+     * 判断json顶层值的类型
+     * @param validate true 时完整扫描校验，不合法时返回 INVALID
+     */
+    public static JsonType detect(String json, boolean validate) {
+        if (!validate) {
+            return JsonType.detect(json);
+        }
+        return isJson(json) ? detectValid(JsonType.detect(json)) : JsonType.INVALID;
+    }
+
+    /**
+     * 判断UTF-8编码json顶层值的类型，只读取第一个有效字节，不校验之后的内容
+     */
+    public static JsonType detect(byte[] json) {
+        return JsonType.detect(json);
+    }
+
+    /**
+     * 判断UTF-8编码json顶层值的类型
+     * @param validate true 时完整扫描校验，不合法时返回 INVALID
+     */
+    public static JsonType detect(byte[] json, boolean validate) {
+        if (!validate) {
+            return JsonType.detect(json);
+        }
+        return isJson(json) ? detectValid(JsonType.detect(json)) : JsonType.INVALID;
+    }
+
+    /**
+     * 已校验为合法的json，不是对象和数组时即为标量
+     */
+    private static JsonType detectValid(JsonType type) {
+        return type == JsonType.OBJECT || type == JsonType.ARRAY ? type : JsonType.SCALAR;
+    }
+
+    /**
+     * 判断字符串是否是json，逐个token跳过，不构建JsonElement
+     * @return json
+     */
+    public static boolean isJson(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return false;
+        }
+        try {
+            return isJson(new JsonReader(new StringReader(json)), () -> json);
+        } catch (IOException e) {
+            throw new GsonException("gson validate error, json: {}", json, e);
+        }
+    }
+
+    /**
+     * 判断UTF-8编码的字节是否是json，逐个token跳过，不构建JsonElement
+     */
+    public static boolean isJson(byte[] json) {
+        if (null == json || json.length == 0) {
+            return false;
+        }
+        HeadReader headReader = new HeadReader(new InputStreamReader(new ByteArrayInputStream(json),
+            StandardCharsets.UTF_8));
+        try {
+            return isJson(new JsonReader(headReader), headReader::stop);
+        } catch (IOException e) {
+            throw new GsonException("gson validate error, json length: {}", json.length, e);
+        }
+    }
+
+    /**
+     * 判断输入流是否是json，逐个token跳过，不构建JsonElement，读取完成后关闭 inputStream
+     * 读取输入流出错时抛出异常，不视为json不合法
+     */
+    public static boolean isJson(InputStream inputStream) {
+        HeadReader headReader = new HeadReader(new InputStreamReader(Objects.requireNonNull(inputStream),
+            StandardCharsets.UTF_8));
+        try (JsonReader reader = new JsonReader(headReader)) {
+            return isJson(reader, headReader::stop);
+        } catch (IOException e) {
+            throw new GsonException("gson validate error", e);
+        }
+    }
+
+    /**
+     * 校验json，与 isJson 相同的规则
+     * JsonReader 只提供行号和列号，按行列换算成字符偏移
+     * @return 出错时解析器所在的字符偏移（不合法的字符之后），合法时返回 -1
+     */
+    public static long getJsonErrorOffset(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        JsonReader reader = new JsonReader(new StringReader(json));
+        try {
+            return isJson(reader, () -> json) ? -1 : getOffset(json, reader);
+        } catch (IOException e) {
+            throw new GsonException("gson validate error, json: {}", json, e);
+        }
+    }
+
+    /**
+     * 校验UTF-8编码的json，与 isJson 相同的规则
+     * @return 出错时解析器所在的字节偏移（不合法的字符之后），合法时返回 -1
+     */
+    public static long getJsonErrorOffset(byte[] json) {
+        if (null == json || json.length == 0) {
+            return 0;
+        }
+        String text = new String(json, StandardCharsets.UTF_8);
+        long offset = getJsonErrorOffset(text);
+        return offset < 0 ? -1 : text.substring(0, (int)offset).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * 校验输入流中的json，与 isJson 相同的规则，读取完成后关闭 inputStream
+     * 需要按行列换算偏移，因此先读入全部内容
+     * 读取输入流出错时抛出异常，不视为json不合法
+     * @return 出错时解析器所在的字节偏移（不合法的字符之后），合法时返回 -1
+     */
+    public static long getJsonErrorOffset(InputStream inputStream) {
+        byte[] json;
+        try (InputStream in = Objects.requireNonNull(inputStream)) {
+            json = ByteStreams.toByteArray(in);
+        } catch (IOException e) {
+            throw new GsonException("gson validate error", e);
+        }
+        return getJsonErrorOffset(json);
+    }
+
+    /**
+     * 按 JsonReader 当前的行号和列号换算字符偏移，只有 \n 换行
+     */
+    private static long getOffset(String json, JsonReader reader) {
+        Matcher matcher = LOCATION.matcher(reader.toString());
+        if (!matcher.find()) {
+            return 0;
+        }
+        int line = Integer.parseInt(matcher.group(1));
+        int lineStart = 0;
+        for (int i = 1, next; i < line && (next = json.indexOf('\n', lineStart)) >= 0; i++) {
+            lineStart = next + 1;
+        }
+        return Math.min(json.length(), lineStart + Integer.parseInt(matcher.group(2)) - 1);
+    }
+
+    /**
+     * 宽松模式下通过 skipValue 跳过顶层值，字符串内容不解码，顶层只能有一个值
+     * 宽松模式会把顶层的任意单词读取为字符串，顶层标量按与 Jackson 相同的写法校验，head 为输入开头至少到第一个值的内容
+     * 读到第一个token后立即获取 head，输入按 HeadReader 记录时只记录到此为止，不会复制整个输入
+     */
+    private static boolean isJson(JsonReader reader, Supplier<CharSequence> head) throws IOException {
+        reader.setStrictness(Strictness.LENIENT);
+        try {
+            JsonToken token = reader.peek();
+            //第一个token已读入，停止记录输入的开头部分
+            CharSequence text = head.get();
+            if (token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY || token == JsonToken.NUMBER) {
+                reader.skipValue();
+            } else {
+                int start = JsonType.indexOfValue(text);
+                if (start < 0) {
+                    return false;
+                }
+                char first = text.charAt(start);
+                switch (token) {
+                    case STRING:
+                        if (first == '"' || first == '\'') {
+                            reader.skipValue();
+                        } else if (!UNQUOTED_NUMBER.matcher(reader.nextString()).matches()) {
+                            //没有引号的字面量只能是数值，包括允许的前导 0 和 NaN、Infinity
+                            return false;
+                        }
+                        break;
+                    case BOOLEAN:
+                        //宽松模式下关键字不区分大小写
+                        if (!startsWith(text, start, reader.nextBoolean() ? "true" : "false")) {
+                            return false;
+                        }
+                        break;
+                    case NULL:
+                        if (!startsWith(text, start, "null")) {
+                            return false;
+                        }
+                        reader.nextNull();
+                        break;
+                    default:
+                        return false;
+                }
+            }
+            return reader.peek() == JsonToken.END_DOCUMENT;
+        } catch (MalformedJsonException | EOFException e) {
+            return false;
+        }
+    }
+
+    private static boolean startsWith(CharSequence text, int start, String keyword) {
+        if (text.length() - start < keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (text.charAt(start + i) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 记录读取到的开头部分，stop() 之后不再记录
+     */
+    private static class HeadReader extends FilterReader {
+        private final StringBuilder head = new StringBuilder();
+        private boolean recording = true;
+
+        private HeadReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (recording && c >= 0) {
+                head.append((char)c);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (recording && n > 0) {
+                head.append(buffer, offset, n);
+            }
+            return n;
+        }
+
+        private CharSequence stop() {
+            recording = false;
+            return head;
+        }
+    }
+
+    /**
+     * 读取基本类型数组的单个元素
+     */
+    private interface ElementReader<A> {
+        void read(JsonReader reader, A values, int index) throws IOException;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.dxy.library.json.gson.adapter;
+
+import java.io.IOException;
+
+import com.dxy.library.json.common.StringCanonicalizer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * 字符串值经过 {@link StringCanonicalizer} 规范化的 String 适配器，同时作用于 Map 的 key
+ * JsonReader 只能返回新创建的字符串，规范化减少的是长期持有的重复实例
+ * @author duanxinyuan
+ * 2026/10/18 22:10
+ */
+public class CanonicalStringAdapter extends TypeAdapter<String> {
+    private final StringCanonicalizer canonicalizer;
+
+    public CanonicalStringAdapter(StringCanonicalizer canonicalizer) {
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public void write(JsonWriter out, String value) throws IOException {
+        out.value(value);
+    }
+
+    @Override
+    public String read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        //与Gson默认的String适配器一致，布尔值转为字符串
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return canonicalizer.canonicalize(in.nextString());
+    }
+
+}
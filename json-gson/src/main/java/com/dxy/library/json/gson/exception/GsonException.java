@@ -1,16 +1,23 @@
 package com.dxy.library.json.gson.exception;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import com.dxy.library.exception.FormativeException;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
+ * 出错位置取自 cause 中的 MalformedJsonException 消息（line x column y）
  * @author duanxinyuan
  * 2019/4/10 22:35
  */
 @Setter
 @Getter
 public class GsonException extends FormativeException {
+
+    private static final Pattern LOCATION = Pattern.compile("line (\\d+) column (\\d+)");
+
     public GsonException() {
         super();
     }
@@ -26,4 +33,22 @@ public class GsonException extends FormativeException {
     public GsonException(String format, Object... arguments) {
         super(format, arguments);
     }
+
+    /**
+     * gson的解析异常没有结构化的位置信息，只能从消息中提取，第一次获取出错位置时提取
+     */
+    @Override
+    protected void initLocation() {
+        for (Throwable cause = getCause(); cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message == null) {
+                continue;
+            }
+            Matcher matcher = LOCATION.matcher(message);
+            if (matcher.find()) {
+                setLocation(-1, Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                return;
+            }
+        }
+    }
 }
@@ -1,14 +1,32 @@
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.dxy.library.exception.FormativeException;
+import com.dxy.library.json.common.DocumentCache;
+import com.dxy.library.json.common.JsonType;
+import com.dxy.library.json.common.ParseResultCache;
+import com.dxy.library.json.common.StringCanonicalizer;
+import com.dxy.library.json.gson.GsonAppender;
+import com.dxy.library.json.gson.GsonFields;
 import com.dxy.library.json.gson.GsonUtil;
+import com.dxy.library.json.gson.exception.GsonException;
+import com.google.gson.JsonElement;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -141,4 +159,400 @@ public class GsonTest {
         Assert.assertEquals(1, GsonUtil.getAsByte(json, "isSuccess1"));
     }
 
+    /**
+     * 测试一次解析获取多个字段
+     */
+    @Test
+    public void testGetFields() {
+        String json = "{\"code\":\"200\",\"id\":2001215464647687987,\"skip\":{\"a\":[1,2]},\"isSuccess\":\"1\","
+            + "\"trait\":[\"淡然\",\"温和\"]}";
+        GsonFields fields = GsonUtil.getAsFields(json, "code", "id", "isSuccess", "trait", "missing");
+        Assert.assertEquals(200, fields.getAsInt("code"));
+        Assert.assertEquals("200", fields.getAsString("code"));
+        Assert.assertEquals(2001215464647687987L, fields.getAsLong("id"));
+        Assert.assertTrue(fields.getAsBoolean("isSuccess"));
+        Assert.assertEquals(Arrays.asList("淡然", "温和"), fields.getAsList("trait", String.class));
+        Assert.assertFalse(fields.contains("missing"));
+        Assert.assertNull(fields.getAsString("missing"));
+        Assert.assertEquals(0, fields.getAsInt("missing"));
+        Assert.assertEquals(0L, fields.getAsLong("missing"));
+        Assert.assertFalse(fields.getAsBoolean("missing"));
+        Assert.assertEquals(BigInteger.ZERO, fields.getAsBigInteger("missing"));
+        Assert.assertEquals(new BigDecimal("0.0"), fields.getAsBigDecimal("missing"));
+    }
+
+    /**
+     * 测试按路径获取字段
+     */
+    @Test
+    public void testGetPath() {
+        String json = "{\"skip\":{\"sku\":\"x\"},\"order\":{\"items\":[{\"sku\":\"a\"},{\"sku\":\"b\",\"num\":\"3\"}],"
+            + "\"a/b\":true},\"tail\":[1,2]}";
+        Assert.assertEquals("b", GsonUtil.getAsString(json, GsonUtil.compilePath("/order/items/1/sku")));
+        Assert.assertEquals(3, GsonUtil.getAsInt(json, GsonUtil.compilePath("/order/items/1/num")));
+        Assert.assertTrue(GsonUtil.getAsBoolean(json, GsonUtil.compilePath("/order/a~1b")));
+        Assert.assertNull(GsonUtil.getAsString(json, GsonUtil.compilePath("/order/items/2/sku")));
+        Assert.assertEquals(0, GsonUtil.getAsInt(json, GsonUtil.compilePath("/order/items/2/sku")));
+        JsonElement item = GsonUtil.getAsJsonObject(json, GsonUtil.compilePath("/order/items/0"));
+        Assert.assertEquals("a", item.getAsJsonObject().get("sku").getAsString());
+        Assert.assertSame(GsonUtil.compilePath("/order/items/1"), GsonUtil.compilePath("/order/items/1"));
+        //byte[] 和 InputStream 与 String 的取值一致
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(3L, GsonUtil.getAsLong(bytes, GsonUtil.compilePath("/order/items/1/num")));
+        Assert.assertEquals(3, GsonUtil.getAsInt(new ByteArrayInputStream(bytes),
+            GsonUtil.compilePath("/order/items/1/num")));
+        Assert.assertEquals(3.0, GsonUtil.getAsDouble(bytes, GsonUtil.compilePath("/order/items/1/num")), 0);
+        Assert.assertTrue(GsonUtil.getAsBoolean(new ByteArrayInputStream(bytes),
+            GsonUtil.compilePath("/order/a~1b")));
+        Assert.assertEquals(0, GsonUtil.getAsByte(bytes, GsonUtil.compilePath("/order/items/2/sku")));
+    }
+
+    /**
+     * 测试字段直接反序列化为对象
+     */
+    @Test
+    public void testGetObject() {
+        Person person = Person.newPerson();
+        String personJson = GsonUtil.to(person);
+        String json = "{\"skip\":[1,2],\"person\":" + personJson + ",\"encoded\":" + GsonUtil.to(personJson)
+            + ",\"persons\":[" + personJson + "],\"n\":null}";
+        Assert.assertEquals(personJson, GsonUtil.to(GsonUtil.getAsObject(json, "person", Person.class)));
+        Assert.assertEquals(personJson, GsonUtil.to(GsonUtil.getAsObject(json, "encoded", Person.class)));
+        Assert.assertEquals(personJson, GsonUtil.to(GsonUtil.getAsList(json, "persons", Person.class).get(0)));
+        Assert.assertEquals(personJson, GsonUtil.to(GsonUtil.getAsObject(json, GsonUtil.compilePath("/persons/0"), Person.class)));
+        Assert.assertNull(GsonUtil.getAsObject(json, "n", Person.class));
+        Assert.assertNull(GsonUtil.getAsObject(json, "missing", Person.class));
+    }
+
+    /**
+     * 测试JSON Lines追加写入
+     */
+    @Test
+    public void testAppender() throws IOException {
+        File file = File.createTempFile("appender", ".jsonl");
+        file.deleteOnExit();
+        try (GsonAppender appender = new GsonAppender(file.getPath(), 64, 0, false)) {
+            for (int i = 0; i < 100; i++) {
+                appender.append(Person.newPerson());
+            }
+            appender.appendAll(Arrays.asList(Person.newPerson(), Person.newPerson()));
+            appender.force();
+            Assert.assertEquals(102, Files.readAllLines(file.toPath()).size());
+            appender.append(Person.newPerson());
+        }
+        List<String> lines = Files.readAllLines(file.toPath());
+        Assert.assertEquals(103, lines.size());
+        Assert.assertEquals(GsonUtil.to(Person.newPerson()), lines.get(102));
+
+        //序列化到一半失败时丢弃整条记录，不影响之后的记录
+        File failFile = File.createTempFile("appender", ".jsonl");
+        failFile.deleteOnExit();
+        List<Integer> failing = new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                if (index == 1) {
+                    throw new IllegalStateException("broken");
+                }
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        };
+        try (GsonAppender appender = new GsonAppender(failFile.getPath(), 64, 0, true)) {
+            appender.append(Collections.singletonMap("x", 7));
+            try {
+                appender.append(Collections.singletonMap("y", failing));
+                Assert.fail();
+            } catch (GsonException e) {
+                Assert.assertNotNull(e.getCause());
+            }
+            appender.append(Collections.singletonMap("z", 8));
+        }
+        Assert.assertEquals(Arrays.asList("{\"x\":7}", "{\"z\":8}"), Files.readAllLines(failFile.toPath()));
+
+        //超过1MB的记录写完后暂存区缩回，之后的记录不受影响
+        File largeFile = File.createTempFile("appender", ".jsonl");
+        largeFile.deleteOnExit();
+        String large = new String(new char[2 * 1024 * 1024]).replace('\0', 'x');
+        try (GsonAppender appender = new GsonAppender(largeFile.getPath())) {
+            appender.append(Collections.singletonMap("large", large));
+            appender.append(Collections.singletonMap("a", 1));
+            appender.append(Collections.singletonMap("b", 2));
+        }
+        List<String> largeLines = Files.readAllLines(largeFile.toPath());
+        Assert.assertEquals(3, largeLines.size());
+        Assert.assertEquals("{\"large\":\"" + large + "\"}", largeLines.get(0));
+        Assert.assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":2}"), largeLines.subList(1, 3));
+    }
+
+    /**
+     * 测试不采集堆栈的异常及结构化的出错位置
+     */
+    @Test
+    public void testStacklessException() {
+        FormativeException.setStackless(true);
+        try {
+            GsonUtil.getAsObject("{\"a\":{\"name\":}}", "a", Person.class);
+            Assert.fail();
+        } catch (GsonException e) {
+            Assert.assertEquals(0, e.getStackTrace().length);
+            Assert.assertNotNull(e.getCause());
+            Assert.assertFalse(e.getMessage().contains("\tat "));
+            Assert.assertEquals(Person.class, e.getTargetType());
+            Assert.assertEquals(1, e.getLine());
+            Assert.assertTrue(e.getColumn() > 0);
+        } finally {
+            FormativeException.setStackless(false);
+        }
+
+        //默认模式采集堆栈，cause 的堆栈只在 Caused by 中输出，不重复拼接到消息中
+        try {
+            GsonUtil.getAsObject("{\"a\":{\"name\":}}", "a", Person.class);
+            Assert.fail();
+        } catch (GsonException e) {
+            Assert.assertTrue(e.getStackTrace().length > 0);
+            Assert.assertFalse(e.getMessage().contains("\tat "));
+            Assert.assertEquals(1, e.getLine());
+        }
+
+        //出错位置在第一次获取时才从 cause 的消息中提取
+        AtomicInteger causeMessages = new AtomicInteger();
+        GsonException exception = new GsonException("error, json: {}", "{}", new IllegalStateException() {
+            @Override
+            public String getMessage() {
+                causeMessages.incrementAndGet();
+                return "line 2 column 3";
+            }
+        });
+        Assert.assertEquals(0, causeMessages.get());
+        Assert.assertEquals(2, exception.getLine());
+        Assert.assertEquals(3, exception.getColumn());
+        Assert.assertEquals(1, causeMessages.get());
+    }
+
+    /**
+     * 测试流式改写json属性，属性位置不变
+     */
+    @Test
+    public void testRewrite() {
+        String json = "{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}";
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":\"y\"}",
+            GsonUtil.add(json, "e", "y"));
+        Assert.assertEquals("{\"a\":1,\"b\":2,\"d\":\"x\"}", GsonUtil.update(json, "b", 2));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]}}", GsonUtil.remove(json, "d"));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}", GsonUtil.remove(json, "e"));
+
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("f", Arrays.asList(1, 2));
+        nested.put("g", true);
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":\"{\\\"f\\\":[1,2],\\\"g\\\":true}\"}",
+            GsonUtil.add(json, "e", nested));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":{\"f\":[1,2],\"g\":true}}",
+            GsonUtil.add(json, "e", nested, true));
+        Assert.assertEquals("{\"a\":{\"f\":[1,2],\"g\":true},\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}",
+            GsonUtil.update(json, "a", nested, true));
+        //nested 模式下 null 写入为 json null，不会丢弃属性
+        Assert.assertEquals("{\"a\":1,\"b\":null}", GsonUtil.add("{\"a\":1}", "b", null, true));
+        Assert.assertEquals("{\"a\":null,\"b\":2}", GsonUtil.update("{\"a\":1,\"b\":2}", "a", null, true));
+        try {
+            GsonUtil.add("{\"a\":", "b", 1);
+            Assert.fail();
+        } catch (GsonException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
+
+    /**
+     * 测试字符串值规范化
+     */
+    @Test
+    public void testStringCanonicalization() {
+        String json = "[{\"name\":\"CN\",\"trait\":[\"ok\",\"ok\"],\"cards\":{\"k\":\"ok\"}},{\"name\":\"CN\"},{\"name\":\"US\"}]";
+        StringCanonicalizer canonicalizer = new StringCanonicalizer();
+        GsonUtil.enableStringCanonicalization(canonicalizer);
+        List<Person> persons = GsonUtil.fromList(json, Person.class);
+        Assert.assertSame(persons.get(0).getName(), persons.get(1).getName());
+        Assert.assertEquals("US", persons.get(2).getName());
+        Assert.assertSame(persons.get(0).getTrait().get(0), persons.get(0).getTrait().get(1));
+        Assert.assertSame(persons.get(0).getTrait().get(0), persons.get(0).getCards().get("k"));
+        Assert.assertEquals(3, canonicalizer.getHits());
+
+        StringCanonicalizer another = new StringCanonicalizer();
+        GsonUtil.enableStringCanonicalization(another);
+        GsonUtil.fromList(json, Person.class);
+        Assert.assertTrue(another.getHits() > 0);
+    }
+
+    /**
+     * 测试基本类型数组的解析和序列化
+     */
+    @Test
+    public void testPrimitiveArray() {
+        int[] ints = new int[100];
+        long[] longs = new long[100];
+        double[] doubles = new double[100];
+        for (int i = 0; i < 100; i++) {
+            ints[i] = i - 50;
+            longs[i] = Long.MAX_VALUE - i;
+            doubles[i] = i / 4.0;
+        }
+        String intJson = GsonUtil.toJson(ints);
+        String longJson = GsonUtil.toJson(longs);
+        String doubleJson = GsonUtil.toJson(doubles);
+        Assert.assertEquals(GsonUtil.to(ints), intJson);
+        Assert.assertEquals(GsonUtil.to(longs), longJson);
+        Assert.assertEquals(GsonUtil.to(doubles), doubleJson);
+
+        Assert.assertArrayEquals(ints, GsonUtil.fromIntArray(intJson));
+        Assert.assertArrayEquals(ints, GsonUtil.fromIntArray(intJson.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertArrayEquals(ints,
+            GsonUtil.fromIntArray(new ByteArrayInputStream(intJson.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertArrayEquals(longs, GsonUtil.fromLongArray(longJson));
+        Assert.assertArrayEquals(longs, GsonUtil.fromLongArray(longJson.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertArrayEquals(longs,
+            GsonUtil.fromLongArray(new ByteArrayInputStream(longJson.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertArrayEquals(doubles, GsonUtil.fromDoubleArray(doubleJson), 0);
+        Assert.assertArrayEquals(doubles, GsonUtil.fromDoubleArray(doubleJson.getBytes(StandardCharsets.UTF_8)), 0);
+        Assert.assertArrayEquals(doubles,
+            GsonUtil.fromDoubleArray(new ByteArrayInputStream(doubleJson.getBytes(StandardCharsets.UTF_8))), 0);
+
+        Assert.assertArrayEquals(new int[] {1, 0, 3}, GsonUtil.fromIntArray("[1,null,3]"));
+        Assert.assertArrayEquals(new double[] {1, 2.5}, GsonUtil.fromDoubleArray(" [1, 2.5] "), 0);
+        Assert.assertArrayEquals(new long[0], GsonUtil.fromLongArray("[]"));
+        Assert.assertNull(GsonUtil.fromIntArray("null"));
+        Assert.assertNull(GsonUtil.fromIntArray(""));
+        Assert.assertEquals("null", GsonUtil.toJson((int[])null));
+        try {
+            GsonUtil.fromIntArray("[1,");
+            Assert.fail();
+        } catch (GsonException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
+
+    /**
+     * 测试json校验
+     */
+    @Test
+    public void testIsJson() {
+        String json = "{\"a\":[1,{\"b\":null}],\"c\":\"x\"}";
+        Assert.assertTrue(GsonUtil.isJson(json));
+        Assert.assertTrue(GsonUtil.isJson(json.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(GsonUtil.isJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertTrue(GsonUtil.isJson("{a:'x'}"));
+        Assert.assertTrue(GsonUtil.isJson("[1,2]"));
+        Assert.assertFalse(GsonUtil.isJson(""));
+        Assert.assertFalse(GsonUtil.isJson("{} {}"));
+        Assert.assertFalse(GsonUtil.isJson("{\"a\":"));
+        Assert.assertFalse(GsonUtil.isJson("{\"a\":1 x}".getBytes(StandardCharsets.UTF_8)));
+        //顶层标量的写法与 Jackson 一致，没有引号的单词不是json
+        for (String word : Arrays.asList("hello", "OK", "nope", "TRUE", "Null", "1abc", "+1")) {
+            Assert.assertFalse(word, GsonUtil.isJson(word));
+            Assert.assertFalse(word, GsonUtil.isJson(word.getBytes(StandardCharsets.UTF_8)));
+            Assert.assertFalse(word, GsonUtil.isJson(new ByteArrayInputStream(word.getBytes(StandardCharsets.UTF_8))));
+        }
+        Assert.assertEquals(JsonType.INVALID, GsonUtil.detect("hello", true));
+        for (String scalar : Arrays.asList("\"hello\"", "'x'", "true", "false", "null", "-1.5e3", "007", "NaN",
+            "-Infinity", " /* c */ 1")) {
+            Assert.assertTrue(scalar, GsonUtil.isJson(scalar));
+            Assert.assertTrue(scalar, GsonUtil.isJson(new ByteArrayInputStream(scalar.getBytes(StandardCharsets.UTF_8))));
+        }
+        Assert.assertEquals(JsonType.SCALAR, GsonUtil.detect("\"hello\"", true));
+
+        Assert.assertEquals(-1, GsonUtil.getJsonErrorOffset(json));
+        Assert.assertEquals(8, GsonUtil.getJsonErrorOffset("{\"a\":1 x}"));
+        Assert.assertEquals(9, GsonUtil.getJsonErrorOffset("{\n\"a\":1 x}"));
+        Assert.assertEquals(5, GsonUtil.getJsonErrorOffset("hello"));
+        //字节输入返回字节偏移
+        byte[] bytes = "{\"中\":1 x}".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(10, GsonUtil.getJsonErrorOffset(bytes));
+        Assert.assertEquals(10, GsonUtil.getJsonErrorOffset(new ByteArrayInputStream(bytes)));
+        Assert.assertEquals(-1, GsonUtil.getJsonErrorOffset(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 测试判断json顶层值的类型
+     */
+    @Test
+    public void testDetect() {
+        Assert.assertEquals(JsonType.OBJECT, GsonUtil.detect(" \n{\"a\":1}"));
+        Assert.assertEquals(JsonType.ARRAY, GsonUtil.detect("// c\n[1]"));
+        Assert.assertEquals(JsonType.SCALAR, GsonUtil.detect("\"x\""));
+        Assert.assertEquals(JsonType.SCALAR, GsonUtil.detect("-1.5"));
+        Assert.assertEquals(JsonType.INVALID, GsonUtil.detect(""));
+        Assert.assertEquals(JsonType.INVALID, GsonUtil.detect("<xml/>"));
+        Assert.assertEquals(JsonType.OBJECT, GsonUtil.detect("{\"a\":"));
+        Assert.assertEquals(JsonType.OBJECT, GsonUtil.detect(new byte[] {(byte)0xEF, (byte)0xBB, (byte)0xBF, '{', '}'}));
+
+        Assert.assertEquals(JsonType.OBJECT, GsonUtil.detect("{\"a\":[1]}", true));
+        Assert.assertEquals(JsonType.ARRAY, GsonUtil.detect("[1,2]".getBytes(StandardCharsets.UTF_8), true));
+        Assert.assertEquals(JsonType.SCALAR, GsonUtil.detect("true", true));
+        Assert.assertEquals(JsonType.INVALID, GsonUtil.detect("{\"a\":", true));
+        Assert.assertEquals(JsonType.INVALID, GsonUtil.detect("[1]]".getBytes(StandardCharsets.UTF_8), true));
+    }
+
+    /**
+     * 测试反序列化结果缓存
+     */
+    @Test
+    public void testParseResultCache() {
+        ParseResultCache cache = new ParseResultCache(2, 64).immutable(Person.class);
+        GsonUtil.enableParseResultCache(cache);
+        try {
+            String json = "{\"name\":\"a\"}";
+            Person first = GsonUtil.from(json, Person.class);
+            Assert.assertEquals("a", first.getName());
+            Assert.assertSame(first, GsonUtil.from(new String(json.toCharArray()), Person.class));
+            //未声明为不可变的类型不缓存
+            Assert.assertNotSame(GsonUtil.from(json, Map.class), GsonUtil.from(json, Map.class));
+            //超过总字符数的json不缓存
+            String large = "{\"name\":\"" + new String(new char[64]).replace('\0', 'x') + "\"}";
+            Assert.assertNotSame(GsonUtil.from(large, Person.class), GsonUtil.from(large, Person.class));
+
+            //超过条目数时淘汰，淘汰哪一条取决于所在分段
+            GsonUtil.from("{\"name\":\"b\"}", Person.class);
+            GsonUtil.from("{\"name\":\"c\"}", Person.class);
+            Assert.assertEquals(1, cache.getHits());
+            Assert.assertEquals(3, cache.getMisses());
+            Assert.assertTrue(cache.getEvictions() >= 1);
+            Assert.assertTrue(cache.size() <= 2);
+            Assert.assertEquals(3, cache.size() + cache.getEvictions());
+
+            cache.clear();
+            Assert.assertEquals(0, cache.size());
+            Assert.assertEquals(0, cache.getHits() + cache.getMisses() + cache.getEvictions());
+            Assert.assertNotSame(first, GsonUtil.from(json, Person.class));
+            Assert.assertEquals(1, cache.getMisses());
+        } finally {
+            GsonUtil.enableParseResultCache(null);
+        }
+    }
+
+    /**
+     * 测试对同一个json串连续取多个字段时只解析一遍
+     */
+    @Test
+    public void testDocumentCache() {
+        DocumentCache<JsonElement> cache = GsonUtil.getDocumentCache();
+        cache.clear();
+        String json = "{\"name\":\"a\",\"age\":18,\"score\":1.5,\"vip\":true}";
+        Assert.assertEquals("a", GsonUtil.getAsString(json, "name"));
+        Assert.assertEquals(18, GsonUtil.getAsInt(json, "age"));
+        Assert.assertEquals(1.5, GsonUtil.getAsDouble(json, "score"), 0);
+        Assert.assertTrue(GsonUtil.getAsBoolean(new String(json.toCharArray()), "vip"));
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(3, cache.getHits());
+
+        Assert.assertEquals(20, GsonUtil.getAsInt("{\"age\":20}", "age"));
+        Assert.assertEquals(2, cache.getMisses());
+        try {
+            GsonUtil.getAsInt("{\"age\":", "age");
+            Assert.fail();
+        } catch (FormativeException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
 }
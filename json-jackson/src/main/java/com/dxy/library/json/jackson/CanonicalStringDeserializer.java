@@ -0,0 +1,53 @@
+package com.dxy.library.json.jackson;
+
+import java.io.IOException;
+
+import com.dxy.library.json.common.StringCanonicalizer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+
+/**
+ * 字符串值经过 {@link StringCanonicalizer} 规范化的 String 反序列化器，见 {@link JacksonUtil#enableStringCanonicalization}
+ * 直接读取解析器的字符缓冲区，命中时不创建新的字符串；字段名已由 Jackson 的符号表规范化，不需要处理
+ * @author duanxinyuan
+ * 2026/10/18 22:10
+ */
+class CanonicalStringDeserializer extends StdScalarDeserializer<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient StringCanonicalizer canonicalizer;
+
+    CanonicalStringDeserializer(StringCanonicalizer canonicalizer) {
+        super(String.class);
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return canonicalizer.canonicalize(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+        //其他类型的token按默认规则转换
+        return StringDeserializer.instance.deserialize(p, ctxt);
+    }
+
+    @Override
+    public LogicalType logicalType() {
+        return LogicalType.Textual;
+    }
+
+    @Override
+    public Object getEmptyValue(DeserializationContext ctxt) {
+        return "";
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package com.dxy.library.json.jackson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.dxy.library.json.common.JsonLinesAppender;
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * JSON Lines 追加写入器，每条记录序列化为一行，缓冲和刷新策略见 {@link JsonLinesAppender}
+ * 线程安全，使用完毕必须调用 close()，建议使用 try-with-resources
+ * @author duanxinyuan
+ * 2026/10/18 18:10
+ */
+public class JacksonAppender extends JsonLinesAppender {
+
+    public JacksonAppender(String path) {
+        this(path, DEFAULT_BUFFER_SIZE, 0, false);
+    }
+
+    /**
+     * @param path 文件路径，不存在时创建，存在时追加
+     * @param bufferSize 缓冲区字节数，写满后写入文件
+     * @param flushIntervalMillis 定时刷新间隔（毫秒），小于等于0表示不定时刷新
+     * @param forceOnFlush 每次刷新后是否调用 force() 落盘
+     */
+    public JacksonAppender(String path, int bufferSize, long flushIntervalMillis, boolean forceOnFlush) {
+        super("jackson", path, bufferSize, flushIntervalMillis, forceOnFlush);
+    }
+
+    /**
+     * 每条记录使用新的 generator，序列化失败时不会把半个对象的状态带到下一条记录
+     */
+    @Override
+    protected void encode(Object v, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JacksonUtil.getObjectMapper().getFactory()
+            .createGenerator(out, JsonEncoding.UTF8)) {
+            JacksonCodecRegistry.writer(v).writeValue(generator, v);
+        }
+    }
+
+    @Override
+    protected RuntimeException newException(String format, Object... arguments) {
+        return new JacksonException(format, arguments);
+    }
+}
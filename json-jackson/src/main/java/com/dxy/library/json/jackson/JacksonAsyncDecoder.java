@@ -0,0 +1,196 @@
+package com.dxy.library.json.jackson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * 非阻塞的增量反序列化，数据分块到达时逐块喂入，每解析完一条记录立即回调
+ * 基于 Jackson 的非阻塞解析器，不阻塞线程，也不需要先把完整报文缓存下来，只缓存当前未完成的一条记录
+ * 顶层数组按元素逐个回调（目标类型本身是数组或集合时除外），多个顶层值（例如 NDJSON）逐个回调
+ * 非线程安全，每个连接使用一个实例，输入结束时调用 end()
+ * @author duanxinyuan
+ * 2026/10/18 20:40
+ */
+public class JacksonAsyncDecoder<V> implements Closeable {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ObjectReader reader;
+    private final Consumer<? super V> action;
+    private final boolean unwrapArray;
+    private final boolean bigDecimalForFloats;
+    private TokenBuffer buffer;
+    private int depth;
+    private boolean inArray;
+    private byte[] scratch;
+
+    public JacksonAsyncDecoder(Class<V> type, Consumer<? super V> action) {
+        this((Type)type, action);
+    }
+
+    public JacksonAsyncDecoder(TypeReference<V> type, Consumer<? super V> action) {
+        this(type.getType(), action);
+    }
+
+    private JacksonAsyncDecoder(Type type, Consumer<? super V> action) {
+        this.reader = JacksonCodecRegistry.reader(type);
+        this.action = action;
+        JavaType javaType = reader.getValueType();
+        this.unwrapArray = !javaType.isArrayType() && !javaType.isCollectionLikeType();
+        this.bigDecimalForFloats = reader.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        try {
+            this.parser = JacksonUtil.getObjectMapper().getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new JacksonException("jackson async decoder create error, type: {}", type, e);
+        }
+        this.feeder = (ByteArrayFeeder)parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 喂入一块数据，返回前已解析完的记录都会回调，调用方随后可以复用 bytes
+     */
+    public void feed(byte[] bytes) {
+        feed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 喂入 bytes 中 [offset, offset + length) 的数据，返回前已解析完的记录都会回调，调用方随后可以复用 bytes
+     */
+    public void feed(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+        try {
+            feeder.feedInput(bytes, offset, offset + length);
+            drain();
+        } catch (IOException e) {
+            throw new JacksonException("jackson async decode error, type: {}, offset: {}", reader.getValueType(),
+                parser.getCurrentLocation().getByteOffset(), e);
+        }
+    }
+
+    /**
+     * 喂入 buffer 中 position 到 limit 之间的数据，返回时 buffer 已全部读完（position 等于 limit）
+     * 堆内 buffer 直接使用底层数组，堆外 buffer 复制到内部的临时数组
+     */
+    public void feed(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        if (buffer.hasArray()) {
+            feed(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        } else {
+            if (null == scratch || scratch.length < length) {
+                scratch = new byte[Math.max(length, 8192)];
+            }
+            buffer.duplicate().get(scratch, 0, length);
+            feed(scratch, 0, length);
+        }
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * 输入结束，回调剩余的记录；输入在一条记录的中间结束时抛出异常
+     */
+    public void end() {
+        feeder.endOfInput();
+        try {
+            drain();
+        } catch (IOException e) {
+            throw new JacksonException("jackson async decode error, type: {}, offset: {}", reader.getValueType(),
+                parser.getCurrentLocation().getByteOffset(), e);
+        }
+        if (depth > 0 || inArray) {
+            throw new JacksonException("jackson async decode error, unexpected end of input, type: {}",
+                reader.getValueType());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new JacksonException("jackson async decoder close error", e);
+        }
+    }
+
+    /**
+     * 读取当前可用的全部token，未完成的记录暂存在 TokenBuffer 中，完成后绑定为对象并回调
+     */
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (depth == 0 && unwrapArray) {
+                if (token == JsonToken.START_ARRAY && !inArray) {
+                    inArray = true;
+                    continue;
+                }
+                if (token == JsonToken.END_ARRAY && inArray) {
+                    inArray = false;
+                    continue;
+                }
+            }
+            if (null == buffer) {
+                //小数按 BigDecimal 暂存，默认的 double 会丢失精度，读取时再按目标类型转换
+                buffer = new TokenBuffer(parser, null).forceUseOfBigDecimal(true);
+            }
+            if (token == JsonToken.VALUE_NUMBER_FLOAT && parser.isNaN()) {
+                //NaN、Infinity 没有对应的 BigDecimal
+                buffer.writeNumber(parser.getDoubleValue());
+            } else {
+                buffer.copyCurrentEvent(parser);
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == 0) {
+                TokenBuffer completed = buffer;
+                buffer = null;
+                JsonParser completedParser = completed.asParser();
+                try (JsonParser bufferParser = bigDecimalForFloats ? completedParser
+                    : new DoubleFloatParser(completedParser)) {
+                    action.accept(reader.readValue(bufferParser));
+                }
+            }
+        }
+    }
+
+    /**
+     * 暂存的小数对外表现为 double，与 JacksonUtil.from 一致：Object、Map、JsonNode 等未指定类型的目标得到 Double
+     * BigDecimal、double 等指定了类型的目标仍然从暂存的 BigDecimal 取值，不损失精度
+     */
+    private static class DoubleFloatParser extends JsonParserDelegate {
+
+        private DoubleFloatParser(JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public NumberType getNumberType() throws IOException {
+            NumberType numberType = super.getNumberType();
+            return numberType == NumberType.BIG_DECIMAL ? NumberType.DOUBLE : numberType;
+        }
+
+        @Override
+        public Number getNumberValue() throws IOException {
+            Number value = super.getNumberValue();
+            return value instanceof BigDecimal ? (Number)value.doubleValue() : value;
+        }
+    }
+}
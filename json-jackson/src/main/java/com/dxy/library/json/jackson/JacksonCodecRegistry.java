@@ -0,0 +1,188 @@
+package com.dxy.library.json.jackson;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * 按（类型, 容器种类）缓存ObjectReader/ObjectWriter
+ * 避免每次调用都重新构造JavaType、查找根反序列化器，ObjectReader/ObjectWriter不可变，可以并发复用
+ * 缓存有上限，并使用软引用，内存紧张时可被回收；以 Class 为键的缓存使用弱引用键，不会阻止类卸载
+ * @author duanxinyuan
+ * 2026/10/18 16:40
+ */
+final class JacksonCodecRegistry {
+
+    private static final int MAXIMUM_SIZE = 2048;
+
+    /**
+     * 容器种类，决定如何由 types 构造 JavaType
+     */
+    enum Kind {
+        /**
+         * V
+         */
+        OBJECT,
+        /**
+         * List<V>
+         */
+        LIST,
+        /**
+         * Set<V>
+         */
+        SET,
+        /**
+         * Map<K, V>
+         */
+        MAP,
+        /**
+         * Map<K, List<V>>
+         */
+        LIST_MAP,
+        /**
+         * Map<K, Set<V>>
+         */
+        SET_MAP,
+        /**
+         * List<Map<K, V>>
+         */
+        MAP_LIST
+    }
+
+    /**
+     * 泛型等组合类型，键中的 Type 为强引用
+     */
+    private static final LoadingCache<Key, ObjectReader> READERS = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .softValues()
+        .build(new CacheLoader<Key, ObjectReader>() {
+            @Override
+            public ObjectReader load(Key key) {
+                ObjectMapper mapper = JacksonUtil.getObjectMapper();
+                return mapper.readerFor(constructType(mapper.getTypeFactory(), key));
+            }
+        });
+
+    /**
+     * 单个 Class 的反序列化，弱引用键按 == 比较，值被回收后类即可卸载
+     */
+    private static final LoadingCache<Class<?>, ObjectReader> CLASS_READERS = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .weakKeys()
+        .softValues()
+        .build(new CacheLoader<Class<?>, ObjectReader>() {
+            @Override
+            public ObjectReader load(Class<?> type) {
+                return JacksonUtil.getObjectMapper().readerFor(type);
+            }
+        });
+
+    private static final LoadingCache<Class<?>, ObjectWriter> WRITERS = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .weakKeys()
+        .softValues()
+        .build(new CacheLoader<Class<?>, ObjectWriter>() {
+            @Override
+            public ObjectWriter load(Class<?> type) {
+                return JacksonUtil.getObjectMapper().writerFor(type);
+            }
+        });
+
+    private JacksonCodecRegistry() {
+    }
+
+    static ObjectReader reader(Type type) {
+        if (type instanceof Class) {
+            return CLASS_READERS.getUnchecked((Class<?>)type);
+        }
+        return READERS.getUnchecked(new Key(Kind.OBJECT, type));
+    }
+
+    static ObjectReader reader(Kind kind, Type... types) {
+        return READERS.getUnchecked(new Key(kind, types));
+    }
+
+    /**
+     * 按运行时类型获取ObjectWriter，null 使用默认的 ObjectWriter
+     */
+    static ObjectWriter writer(Object value) {
+        if (null == value) {
+            return JacksonUtil.getObjectMapper().writer();
+        }
+        return WRITERS.getUnchecked(value.getClass());
+    }
+
+    /**
+     * 清空缓存，修改 ObjectMapper 配置后需要调用
+     */
+    static void clear() {
+        READERS.invalidateAll();
+        CLASS_READERS.invalidateAll();
+        WRITERS.invalidateAll();
+    }
+
+    private static JavaType constructType(TypeFactory typeFactory, Key key) {
+        Type[] types = key.types;
+        switch (key.kind) {
+            case LIST:
+                return typeFactory.constructCollectionType(ArrayList.class, typeFactory.constructType(types[0]));
+            case SET:
+                return typeFactory.constructCollectionType(HashSet.class, typeFactory.constructType(types[0]));
+            case MAP:
+                return typeFactory.constructMapType(HashMap.class, typeFactory.constructType(types[0]),
+                    typeFactory.constructType(types[1]));
+            case LIST_MAP:
+                return typeFactory.constructMapType(HashMap.class, typeFactory.constructType(types[0]),
+                    typeFactory.constructCollectionType(ArrayList.class, typeFactory.constructType(types[1])));
+            case SET_MAP:
+                return typeFactory.constructMapType(HashMap.class, typeFactory.constructType(types[0]),
+                    typeFactory.constructCollectionType(HashSet.class, typeFactory.constructType(types[1])));
+            case MAP_LIST:
+                return typeFactory.constructCollectionType(ArrayList.class,
+                    typeFactory.constructMapType(HashMap.class, typeFactory.constructType(types[0]),
+                        typeFactory.constructType(types[1])));
+            default:
+                return typeFactory.constructType(types[0]);
+        }
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final Type[] types;
+        private final int hashCode;
+
+        private Key(Kind kind, Type... types) {
+            this.kind = kind;
+            this.types = types;
+            this.hashCode = 31 * kind.ordinal() + Arrays.hashCode(types);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key)o;
+            return kind == key.kind && Arrays.equals(types, key.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
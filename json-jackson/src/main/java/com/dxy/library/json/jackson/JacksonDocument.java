@@ -0,0 +1,395 @@
+package com.dxy.library.json.jackson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 只读的json文档，见 {@link JacksonUtil#parseDocument(byte[])}
+ * 解析时只记录每个值的类型、在原始字节中的偏移、子树结束位置和字段名（Jackson 符号表中的规范实例），存放在几个基本类型数组中，
+ * 不创建 JsonNode；字符串、数值在取值时才从原始字节解码，查找字段时整棵子树直接跳过，不需要重新扫描
+ * 取值规则和默认值与 JacksonUtil.getAs* 一致；不复制传入的 byte[]，创建后不能修改，文档本身不可变，可以在线程间共享
+ * @author duanxinyuan
+ * 2026/10/19 00:10
+ */
+public class JacksonDocument {
+    private final byte[] json;
+    private final int size;
+    /**
+     * 值的类型，JsonTokenId
+     */
+    private final byte[] kinds;
+    /**
+     * 值在 json 中的起始字节偏移
+     */
+    private final int[] offsets;
+    /**
+     * 值之后下一个兄弟节点的位置，标量为自身位置 + 1，对象和数组为子树结束后的位置
+     */
+    private final int[] ends;
+    /**
+     * 对象字段的字段名，数组元素和顶层值为 null
+     */
+    private final String[] names;
+
+    private JacksonDocument(byte[] json, int size, byte[] kinds, int[] offsets, int[] ends, String[] names) {
+        this.json = json;
+        this.size = size;
+        this.kinds = kinds;
+        this.offsets = offsets;
+        this.ends = ends;
+        this.names = names;
+    }
+
+    /**
+     * 逐个token记录到数组中，读取完顶层值后结束，与 readTree 一致，之后的内容不读取
+     */
+    static JacksonDocument parse(byte[] json) throws IOException {
+        int capacity = Math.max(16, json.length >> 4);
+        byte[] kinds = new byte[capacity];
+        int[] offsets = new int[capacity];
+        int[] ends = new int[capacity];
+        String[] names = new String[capacity];
+        int[] parents = new int[16];
+        int depth = 0;
+        int size = 0;
+        String name = null;
+        try (JsonParser parser = JacksonUtil.getObjectMapper().createParser(json)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    name = parser.currentName();
+                    continue;
+                }
+                if (token.isStructEnd()) {
+                    ends[parents[--depth]] = size;
+                } else {
+                    if (size == kinds.length) {
+                        kinds = Arrays.copyOf(kinds, size << 1);
+                        offsets = Arrays.copyOf(offsets, size << 1);
+                        ends = Arrays.copyOf(ends, size << 1);
+                        names = Arrays.copyOf(names, size << 1);
+                    }
+                    kinds[size] = (byte)token.id();
+                    offsets[size] = (int)parser.getTokenLocation().getByteOffset();
+                    ends[size] = size + 1;
+                    names[size] = name;
+                    name = null;
+                    if (token.isStructStart()) {
+                        if (depth == parents.length) {
+                            parents = Arrays.copyOf(parents, depth << 1);
+                        }
+                        parents[depth++] = size;
+                    }
+                    size++;
+                }
+                if (depth == 0) {
+                    break;
+                }
+            }
+        }
+        if (size == 0 || depth != 0) {
+            throw new JacksonException("jackson parse document error, unexpected end of input");
+        }
+        return new JacksonDocument(json, size, Arrays.copyOf(kinds, size), Arrays.copyOf(offsets, size),
+            Arrays.copyOf(ends, size), Arrays.copyOf(names, size));
+    }
+
+    /**
+     * 记录的值的个数（对象和数组各计一个）
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 顶层对象是否包含某个字段
+     */
+    public boolean contains(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * 是否包含路径对应的值
+     */
+    public boolean contains(JsonPointer path) {
+        return indexOf(path) >= 0;
+    }
+
+    /**
+     * @return String，默认为 null
+     */
+    public String getAsString(String key) {
+        return read(indexOf(key), null, JacksonUtil::getAsString, "jackson get string error, key: {}", key);
+    }
+
+    /**
+     * @return String，默认为 null
+     */
+    public String getAsString(JsonPointer path) {
+        return read(indexOf(path), null, JacksonUtil::getAsString, "jackson get string error, path: {}", path);
+    }
+
+    /**
+     * @return int，默认为 0
+     */
+    public int getAsInt(String key) {
+        return read(indexOf(key), 0, JacksonUtil::getAsInt, "jackson get int error, key: {}", key);
+    }
+
+    /**
+     * @return int，默认为 0
+     */
+    public int getAsInt(JsonPointer path) {
+        return read(indexOf(path), 0, JacksonUtil::getAsInt, "jackson get int error, path: {}", path);
+    }
+
+    /**
+     * @return long，默认为 0
+     */
+    public long getAsLong(String key) {
+        return read(indexOf(key), 0L, JacksonUtil::getAsLong, "jackson get long error, key: {}", key);
+    }
+
+    /**
+     * @return long，默认为 0
+     */
+    public long getAsLong(JsonPointer path) {
+        return read(indexOf(path), 0L, JacksonUtil::getAsLong, "jackson get long error, path: {}", path);
+    }
+
+    /**
+     * @return double，默认为 0.0
+     */
+    public double getAsDouble(String key) {
+        return read(indexOf(key), 0.0, JacksonUtil::getAsDouble, "jackson get double error, key: {}", key);
+    }
+
+    /**
+     * @return double，默认为 0.0
+     */
+    public double getAsDouble(JsonPointer path) {
+        return read(indexOf(path), 0.0, JacksonUtil::getAsDouble, "jackson get double error, path: {}", path);
+    }
+
+    /**
+     * @return BigInteger，默认为 0
+     */
+    public BigInteger getAsBigInteger(String key) {
+        return read(indexOf(key), BigInteger.ZERO, JacksonUtil::getAsBigInteger,
+            "jackson get big integer error, key: {}", key);
+    }
+
+    /**
+     * @return BigInteger，默认为 0
+     */
+    public BigInteger getAsBigInteger(JsonPointer path) {
+        return read(indexOf(path), BigInteger.ZERO, JacksonUtil::getAsBigInteger,
+            "jackson get big integer error, path: {}", path);
+    }
+
+    /**
+     * @return BigDecimal，默认为 0.00
+     */
+    public BigDecimal getAsBigDecimal(String key) {
+        return read(indexOf(key), new BigDecimal("0.00"), JacksonUtil::getAsBigDecimal,
+            "jackson get big decimal error, key: {}", key);
+    }
+
+    /**
+     * @return BigDecimal，默认为 0.00
+     */
+    public BigDecimal getAsBigDecimal(JsonPointer path) {
+        return read(indexOf(path), new BigDecimal("0.00"), JacksonUtil::getAsBigDecimal,
+            "jackson get big decimal error, path: {}", path);
+    }
+
+    /**
+     * @return boolean, 默认为false
+     */
+    public boolean getAsBoolean(String key) {
+        return read(indexOf(key), false, JacksonUtil::getAsBoolean, "jackson get boolean error, key: {}", key);
+    }
+
+    /**
+     * @return boolean, 默认为false
+     */
+    public boolean getAsBoolean(JsonPointer path) {
+        return read(indexOf(path), false, JacksonUtil::getAsBoolean, "jackson get boolean error, path: {}", path);
+    }
+
+    /**
+     * @return byte, 默认为 0
+     */
+    public byte getAsByte(String key) {
+        return read(indexOf(key), (byte)0, JacksonUtil::getAsByte, "jackson get byte error, key: {}", key);
+    }
+
+    /**
+     * @return byte, 默认为 0
+     */
+    public byte getAsByte(JsonPointer path) {
+        return read(indexOf(path), (byte)0, JacksonUtil::getAsByte, "jackson get byte error, path: {}", path);
+    }
+
+    /**
+     * @return object, 默认为 null
+     */
+    public <V> V getAsObject(String key, Class<V> type) {
+        return read(indexOf(key), null, parser -> JacksonUtil.getAsObject(parser, JacksonCodecRegistry.reader(type)),
+            "jackson get object error, key: {}", key);
+    }
+
+    /**
+     * @return object, 默认为 null
+     */
+    public <V> V getAsObject(JsonPointer path, Class<V> type) {
+        return read(indexOf(path), null, parser -> JacksonUtil.getAsObject(parser, JacksonCodecRegistry.reader(type)),
+            "jackson get object error, path: {}", path);
+    }
+
+    /**
+     * @return list, 默认为 null
+     */
+    public <V> List<V> getAsList(String key, Class<V> type) {
+        return read(indexOf(key), null, parser -> JacksonUtil.getAsObject(parser,
+            JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type)), "jackson get list error, key: {}", key);
+    }
+
+    /**
+     * @return list, 默认为 null
+     */
+    public <V> List<V> getAsList(JsonPointer path, Class<V> type) {
+        return read(indexOf(path), null, parser -> JacksonUtil.getAsObject(parser,
+            JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type)), "jackson get list error, path: {}",
+            path);
+    }
+
+    /**
+     * 只构建目标字段的JsonNode
+     * @return JsonNode, 默认为 null
+     */
+    public JsonNode getAsJsonObject(String key) {
+        return read(indexOf(key), null, parser -> JacksonUtil.getObjectMapper().readTree(parser),
+            "jackson get object from json error, key: {}", key);
+    }
+
+    /**
+     * 只构建目标字段的JsonNode
+     * @return JsonNode, 默认为 null
+     */
+    public JsonNode getAsJsonObject(JsonPointer path) {
+        return read(indexOf(path), null, parser -> JacksonUtil.getObjectMapper().readTree(parser),
+            "jackson get object from json error, path: {}", path);
+    }
+
+    /**
+     * 顶层对象中字段对应的位置，不存在时返回 -1
+     */
+    private int indexOf(String key) {
+        return kinds[0] == JsonTokenId.ID_START_OBJECT ? child(0, key) : -1;
+    }
+
+    /**
+     * 路径对应的位置，逐层查找，不存在时返回 -1
+     */
+    private int indexOf(JsonPointer path) {
+        int index = 0;
+        JsonPointer pointer = path;
+        while (!pointer.matches()) {
+            if (kinds[index] == JsonTokenId.ID_START_OBJECT) {
+                index = child(index, pointer.getMatchingProperty());
+            } else if (kinds[index] == JsonTokenId.ID_START_ARRAY) {
+                index = element(index, pointer.getMatchingIndex());
+            } else {
+                return -1;
+            }
+            if (index < 0) {
+                return -1;
+            }
+            pointer = pointer.tail();
+        }
+        return index;
+    }
+
+    /**
+     * 对象中字段对应的位置，兄弟节点之间直接跳过子树
+     */
+    private int child(int parent, String name) {
+        for (int i = parent + 1; i < ends[parent]; i = ends[i]) {
+            if (name.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 数组中第 position 个元素的位置
+     */
+    private int element(int parent, int position) {
+        if (position < 0) {
+            return -1;
+        }
+        int n = 0;
+        for (int i = parent + 1; i < ends[parent]; i = ends[i]) {
+            if (n++ == position) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 从值的偏移处创建parser并移动到该值上，只解码这一个值
+     */
+    private <V> V read(int index, V defaultValue, ValueReader<V> reader, String message, Object location) {
+        if (index < 0) {
+            return defaultValue;
+        }
+        int offset = offsets[index];
+        try (JsonParser parser = JacksonUtil.getObjectMapper().createParser(json, offset, length(index))) {
+            parser.nextToken();
+            return reader.read(parser);
+        } catch (Exception e) {
+            throw new JacksonException(message, location, e);
+        }
+    }
+
+    /**
+     * 从值的偏移处开始可以交给parser的字节数
+     * 数值作为顶层值时 Jackson 要求其后是空白或结束，所以只截取数值本身；其他类型读到值结束为止，不会越过
+     */
+    private int length(int index) {
+        int offset = offsets[index];
+        if (kinds[index] != JsonTokenId.ID_NUMBER_INT && kinds[index] != JsonTokenId.ID_NUMBER_FLOAT) {
+            return json.length - offset;
+        }
+        int end = offset;
+        while (end < json.length && isNumberChar(json[end])) {
+            end++;
+        }
+        return end - offset;
+    }
+
+    /**
+     * 数值中可能出现的字符，包括允许非数值常量（NaN、Infinity）时的字母
+     */
+    private static boolean isNumberChar(byte b) {
+        return b >= '0' && b <= '9' || b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b == '-' || b == '+' || b == '.';
+    }
+
+    @FunctionalInterface
+    private interface ValueReader<V> {
+        V read(JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,196 @@
+package com.dxy.library.json.jackson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 一次解析得到的多个字段，见 {@link JacksonUtil#getAsFields(String, java.util.Set)}
+ * 取值规则和默认值与 JacksonUtil.getAs* 一致
+ * @author duanxinyuan
+ * 2026/10/18 11:05
+ */
+public class JacksonFields {
+    private final Map<String, JsonNode> values;
+
+    JacksonFields(Map<String, JsonNode> values) {
+        this.values = values;
+    }
+
+    /**
+     * 是否包含某个字段
+     */
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * @return String，默认为 null
+     */
+    public String getAsString(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return null;
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsString(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get string error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return int，默认为 0
+     */
+    public int getAsInt(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return 0;
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsInt(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get int error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return long，默认为 0
+     */
+    public long getAsLong(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return 0L;
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsLong(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get long error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return double，默认为 0.0
+     */
+    public double getAsDouble(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return 0.0;
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsDouble(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get double error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return BigInteger，默认为 0
+     */
+    public BigInteger getAsBigInteger(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return BigInteger.ZERO;
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsBigInteger(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big integer error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return BigDecimal，默认为 0.00
+     */
+    public BigDecimal getAsBigDecimal(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return new BigDecimal("0.00");
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsBigDecimal(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big decimal error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return boolean, 默认为false
+     */
+    public boolean getAsBoolean(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return false;
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsBoolean(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get boolean error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return byte, 默认为 0
+     */
+    public byte getAsByte(String key) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return 0;
+        }
+        try (JsonParser parser = traverse(jsonNode)) {
+            return JacksonUtil.getAsByte(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get byte error, key: {}", key, e);
+        }
+    }
+
+    /**
+     * @return object, 默认为 null
+     */
+    public <V> V getAsObject(String key, Class<V> type) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return null;
+        }
+        try {
+            return JacksonUtil.getAsObject(jsonNode, JacksonCodecRegistry.reader(type));
+        } catch (Exception e) {
+            throw new JacksonException("jackson get object error, key: {}, type: {}", key, type, e);
+        }
+    }
+
+    /**
+     * @return list, 默认为 null
+     */
+    public <V> List<V> getAsList(String key, Class<V> type) {
+        JsonNode jsonNode = values.get(key);
+        if (null == jsonNode) {
+            return null;
+        }
+        try {
+            return JacksonUtil.getAsObject(jsonNode,
+                JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type));
+        } catch (Exception e) {
+            throw new JacksonException("jackson get list error, key: {}, type: {}", key, type, e);
+        }
+    }
+
+    /**
+     * @return JsonNode, 默认为 null
+     */
+    public JsonNode getAsJsonObject(String key) {
+        return values.get(key);
+    }
+
+    private static JsonParser traverse(JsonNode jsonNode) throws IOException {
+        JsonParser parser = jsonNode.traverse(JacksonUtil.getObjectMapper());
+        parser.nextToken();
+        return parser;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dxy.library.json.jackson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+/**
+ * 逐条反序列化的迭代器，见 {@link JacksonUtil#iterate(java.io.File, Class)}
+ * 同时支持顶层数组和 NDJSON（JSON Lines），每次只解码一条记录，内存占用与数据总量无关
+ * 读取完毕后自动关闭，提前结束时需要调用 close()，建议使用 try-with-resources
+ * @author duanxinyuan
+ * 2026/10/18 17:30
+ */
+public class JacksonIterator<V> implements Iterator<V>, Closeable {
+    private final MappingIterator<V> iterator;
+
+    JacksonIterator(MappingIterator<V> iterator) {
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (iterator.hasNextValue()) {
+                return true;
+            }
+        } catch (IOException e) {
+            close();
+            throw new JacksonException("jackson iterate error", e);
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public V next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return iterator.nextValue();
+        } catch (IOException e) {
+            close();
+            throw new JacksonException("jackson iterate error", e);
+        }
+    }
+
+    /**
+     * 转换为顺序流，关闭流时关闭底层输入
+     */
+    public Stream<V> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+            .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            throw new JacksonException("jackson iterator close error", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.dxy.library.json.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * 按 {@link JacksonRecyclerPool} 获取 BufferRecycler 的 JsonFactory
+ * @author duanxinyuan
+ * 2026/10/18 21:40
+ */
+class JacksonJsonFactory extends JsonFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JacksonRecyclerPool recyclerPool;
+
+    JacksonJsonFactory(JacksonRecyclerPool recyclerPool) {
+        this.recyclerPool = recyclerPool;
+    }
+
+    private JacksonJsonFactory(JacksonJsonFactory src, ObjectCodec codec) {
+        super(src, codec);
+        this.recyclerPool = src.recyclerPool;
+    }
+
+    @Override
+    public JsonFactory copy() {
+        _checkInvalidCopy(JacksonJsonFactory.class);
+        return new JacksonJsonFactory(this, null);
+    }
+
+    /**
+     * JsonFactory 只对自身返回格式名，子类需要重写，否则非阻塞解析等 JSON 专有功能不可用
+     */
+    @Override
+    public String getFormatName() {
+        return FORMAT_NAME_JSON;
+    }
+
+    @Override
+    public BufferRecycler _getBufferRecycler() {
+        if (!isEnabled(Feature.USE_THREAD_LOCAL_FOR_BUFFER_RECYCLING)) {
+            return new BufferRecycler();
+        }
+        return recyclerPool.getBufferRecycler();
+    }
+}
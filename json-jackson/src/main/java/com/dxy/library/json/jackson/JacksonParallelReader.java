@@ -0,0 +1,221 @@
+package com.dxy.library.json.jackson;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+/**
+ * 多线程并行解码 NDJSON（JSON Lines）文件
+ * 文件按换行对齐切分为多个分块，每个分块通过 FileChannel.map 内存映射后在线程池中独立解码
+ * 只支持每条记录占一行的 NDJSON，不支持顶层数组
+ * @author duanxinyuan
+ * 2026/10/18 19:00
+ */
+public class JacksonParallelReader<V> {
+
+    /**
+     * 默认分块大小，8MB
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final File file;
+    private final Class<V> type;
+    private final int chunkSize;
+    private final Executor executor;
+    private final int parallelism;
+
+    public JacksonParallelReader(File file, Class<V> type) {
+        this(file, type, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param chunkSize 分块大小（字节），实际分块会延伸到下一个换行符
+     * @param executor 解码分块的线程池
+     */
+    public JacksonParallelReader(File file, Class<V> type, int chunkSize, Executor executor) {
+        this.file = file;
+        this.type = type;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        this.parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool)executor).getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 并行解码，action 在解码线程中并发调用，顺序不确定，action 需要线程安全
+     * 任一分块失败时立即抛出异常，其余分块不再调用 action
+     */
+    public void forEach(Consumer<? super V> action) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            for (long[] chunk : split(channel)) {
+                futures.add(watch(CompletableFuture.runAsync(() -> decode(channel, chunk, action, cancelled),
+                    executor), failure));
+            }
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])), failure)
+                .join();
+        } catch (IOException | CompletionException e) {
+            throw rethrow(e);
+        } finally {
+            cancel(futures, cancelled);
+        }
+    }
+
+    /**
+     * 并行解码，action 在调用线程中按文件顺序依次调用
+     * 同时解码中的分块数不超过并行度的两倍，内存占用与文件大小无关；任一分块失败时立即抛出异常
+     */
+    public void forEachOrdered(Consumer<? super V> action) {
+        int window = Math.max(2, parallelism * 2);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        Deque<CompletableFuture<List<V>>> futures = new ArrayDeque<>(window);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            for (long[] chunk : split(channel)) {
+                if (futures.size() == window) {
+                    next(futures, failure).forEach(action);
+                }
+                futures.add(watch(CompletableFuture.supplyAsync(() -> {
+                    List<V> values = new ArrayList<>();
+                    decode(channel, chunk, values::add, cancelled);
+                    return values;
+                }, executor), failure));
+            }
+            while (!futures.isEmpty()) {
+                next(futures, failure).forEach(action);
+            }
+        } catch (IOException | CompletionException e) {
+            throw rethrow(e);
+        } finally {
+            cancel(futures, cancelled);
+        }
+    }
+
+    /**
+     * 并行解码，按文件顺序返回全部记录
+     */
+    public List<V> toList() {
+        List<V> values = new ArrayList<>();
+        forEachOrdered(values::add);
+        return values;
+    }
+
+    /**
+     * 按 chunkSize 切分文件，每个分块的结尾延伸到下一个换行符（含）
+     * @return 分块的 [起始位置, 结束位置)
+     */
+    private List<long[]> split(FileChannel channel) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            if (end < size) {
+                end = nextLine(channel, buffer, end, size);
+            }
+            chunks.add(new long[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * @return position 之后第一个换行符的下一个位置，没有换行符时返回文件大小
+     */
+    private static long nextLine(FileChannel channel, ByteBuffer buffer, long position, long size)
+        throws IOException {
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 分块失败时立即完成 failure，调用方不必等待排在前面的分块
+     */
+    private static <T> CompletableFuture<T> watch(CompletableFuture<T> future, CompletableFuture<Void> failure) {
+        future.whenComplete((value, e) -> {
+            if (null != e) {
+                failure.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 等待队首分块完成，其他分块先失败时直接抛出其异常
+     */
+    private static <T> T next(Deque<CompletableFuture<T>> futures, CompletableFuture<Void> failure) {
+        CompletableFuture<T> head = futures.poll();
+        CompletableFuture.anyOf(head, failure).join();
+        return head.join();
+    }
+
+    /**
+     * 取消未开始的分块，已开始的分块在解码下一条记录前停止
+     */
+    private static void cancel(Collection<? extends CompletableFuture<?>> futures, AtomicBoolean cancelled) {
+        cancelled.set(true);
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    private JacksonException rethrow(Exception e) {
+        Throwable cause = unwrap(e);
+        if (cause instanceof JacksonException) {
+            return (JacksonException)cause;
+        }
+        return new JacksonException("jackson parallel read error, file path: {}, type: {}", file.getPath(), type,
+            cause);
+    }
+
+    private void decode(FileChannel channel, long[] chunk, Consumer<? super V> action, AtomicBoolean cancelled) {
+        try {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+            try (MappingIterator<V> iterator = JacksonCodecRegistry.reader(type)
+                .readValues(new ByteBufferBackedInputStream(mapped))) {
+                while (!cancelled.get() && iterator.hasNextValue()) {
+                    action.accept(iterator.nextValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new JacksonException("jackson parallel read error, file path: {}, offset: {}", file.getPath(),
+                chunk[0], e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
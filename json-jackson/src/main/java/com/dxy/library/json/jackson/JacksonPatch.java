@@ -0,0 +1,445 @@
+package com.dxy.library.json.jackson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * 批量修改json，收集多个 add/replace/remove 操作后只读写一遍输入
+ * 路径为 JSON Pointer（例：/order/items/0/sku），操作按路径组织成树，未涉及的分支通过 copyCurrentStructure 原样复制
+ * 语义与 RFC 6902 一致：add 到对象时已存在则替换，add 到数组时插入到该下标之前，"-" 表示追加到末尾；replace/remove 的目标必须存在
+ * 所有操作都针对原始文档，数组下标不会因同一批次中其他的插入、删除而偏移；同一路径只能有一个操作（"-" 追加除外），
+ * 路径之间也不能互为前缀
+ * 由 fromJsonPatch 构建时按 RFC 6902 依次应用，数组中插入、删除元素后，之后的操作不能再使用该数组中相同或更大的下标，
+ * 否则应用补丁时抛出异常
+ * 构建完成后不可变，可以并发复用
+ * @author duanxinyuan
+ * 2026/10/18 20:10
+ */
+public class JacksonPatch {
+
+    private enum Op {
+        /**
+         * 添加或替换
+         */
+        ADD,
+        /**
+         * 替换，目标必须存在
+         */
+        REPLACE,
+        /**
+         * 删除，目标必须存在
+         */
+        REMOVE,
+        /**
+         * 删除，目标不存在时忽略（RFC 7396）
+         */
+        DELETE,
+        /**
+         * 合并子节点，目标不是对象时替换为 values 中的值（RFC 7396）
+         */
+        MERGE
+    }
+
+    private final Node root = new Node("", -1);
+
+    /**
+     * 是否按 RFC 6902 依次应用，见 fromJsonPatch
+     */
+    private boolean sequential;
+
+    /**
+     * 已添加的操作数，用于判断操作的先后顺序
+     */
+    private int sequence;
+
+    /**
+     * 添加属性或数组元素，属性已存在时替换
+     */
+    public JacksonPatch add(String path, Object value) {
+        return put(path, Op.ADD, value);
+    }
+
+    /**
+     * 替换属性或数组元素，目标不存在时应用补丁会抛出异常
+     */
+    public JacksonPatch replace(String path, Object value) {
+        return put(path, Op.REPLACE, value);
+    }
+
+    /**
+     * 删除属性或数组元素，目标不存在时应用补丁会抛出异常
+     */
+    public JacksonPatch remove(String path) {
+        return put(path, Op.REMOVE, null);
+    }
+
+    /**
+     * 由 RFC 6902 JSON Patch 文档构建，只支持 add、replace、remove 操作
+     */
+    public static JacksonPatch fromJsonPatch(String patch) {
+        JsonNode operations = readTree(patch);
+        if (!operations.isArray()) {
+            throw new JacksonException("jackson json patch must be an array, patch: {}", patch);
+        }
+        JacksonPatch jacksonPatch = new JacksonPatch();
+        jacksonPatch.sequential = true;
+        for (JsonNode operation : operations) {
+            String op = operation.path("op").asText();
+            JsonNode path = operation.get("path");
+            if (path == null || !path.isTextual()) {
+                throw new JacksonException("jackson json patch path missing, operation: {}", operation);
+            }
+            if ("add".equals(op) || "replace".equals(op)) {
+                if (!operation.has("value")) {
+                    throw new JacksonException("jackson json patch value missing, operation: {}", operation);
+                }
+                jacksonPatch.put(path.asText(), "add".equals(op) ? Op.ADD : Op.REPLACE, operation.get("value"));
+            } else if ("remove".equals(op)) {
+                jacksonPatch.remove(path.asText());
+            } else {
+                throw new JacksonException("jackson json patch operation unsupported, operation: {}", operation);
+            }
+        }
+        return jacksonPatch;
+    }
+
+    /**
+     * 由 RFC 7396 JSON Merge Patch 文档构建
+     */
+    public static JacksonPatch fromMergePatch(String patch) {
+        JsonNode node = readTree(patch);
+        JacksonPatch jacksonPatch = new JacksonPatch();
+        if (node.isObject()) {
+            merge(jacksonPatch.root, (ObjectNode)node);
+        } else {
+            jacksonPatch.root.op = Op.ADD;
+            jacksonPatch.root.values.add(node);
+        }
+        return jacksonPatch;
+    }
+
+    /**
+     * 应用补丁
+     * @return 修改后的json
+     */
+    public String apply(String json) {
+        ObjectMapper mapper = JacksonUtil.getObjectMapper();
+        StringWriter writer = new StringWriter(json.length() + 16);
+        try (JsonParser parser = mapper.createParser(json);
+             JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            apply(parser, generator);
+        } catch (IOException e) {
+            throw new JacksonException("jackson patch error, json: {}", json, e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 应用补丁，输入输出均为UTF-8编码
+     * @return 修改后的json
+     */
+    public byte[] apply(byte[] json) {
+        ObjectMapper mapper = JacksonUtil.getObjectMapper();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length + 16);
+        try (JsonParser parser = mapper.createParser(json);
+             JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            apply(parser, generator);
+        } catch (IOException e) {
+            throw new JacksonException("jackson patch error, json length: {}", json.length, e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 应用补丁，边读边写，不关闭输入输出流
+     */
+    public void apply(InputStream inputStream, OutputStream outputStream) {
+        ObjectMapper mapper = JacksonUtil.getObjectMapper();
+        try (JsonParser parser = mapper.createParser(inputStream);
+             JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            apply(parser, generator);
+        } catch (IOException e) {
+            throw new JacksonException("jackson patch error", e);
+        }
+    }
+
+    private void apply(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (parser.nextToken() == null) {
+            throw new JacksonException("jackson patch error, json is empty");
+        }
+        write(parser, generator, root);
+    }
+
+    /**
+     * 写入parser当前位置的值，parser停留在值的最后一个token上
+     */
+    private void write(JsonParser parser, JsonGenerator generator, Node node) throws IOException {
+        if (node.op == Op.ADD || node.op == Op.REPLACE) {
+            parser.skipChildren();
+            writeValues(generator, node);
+        } else if (node.children.isEmpty() && node.op != Op.MERGE) {
+            generator.copyCurrentStructure(parser);
+        } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+            writeObject(parser, generator, node);
+        } else if (parser.currentToken() == JsonToken.START_ARRAY && node.op != Op.MERGE) {
+            writeArray(parser, generator, node);
+        } else if (node.op == Op.MERGE) {
+            parser.skipChildren();
+            writeValues(generator, node);
+        } else {
+            throw notFound(node.children.values().iterator().next());
+        }
+    }
+
+    private void writeObject(JsonParser parser, JsonGenerator generator, Node node) throws IOException {
+        generator.writeStartObject();
+        int applied = 0;
+        boolean[] matched = new boolean[node.children.size()];
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            Node child = node.children.get(name);
+            if (null == child) {
+                generator.writeFieldName(name);
+                generator.copyCurrentStructure(parser);
+                continue;
+            }
+            if (!matched[child.ordinal]) {
+                matched[child.ordinal] = true;
+                applied++;
+            }
+            if (child.op == Op.REMOVE || child.op == Op.DELETE) {
+                parser.skipChildren();
+            } else {
+                generator.writeFieldName(name);
+                write(parser, generator, child);
+            }
+        }
+        if (applied < matched.length) {
+            for (Node child : node.children.values()) {
+                if (matched[child.ordinal] || child.op == Op.DELETE) {
+                    continue;
+                }
+                if (child.op != Op.ADD && child.op != Op.MERGE) {
+                    throw notFound(child);
+                }
+                generator.writeFieldName(child.name);
+                writeValues(generator, child);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeArray(JsonParser parser, JsonGenerator generator, Node node) throws IOException {
+        TreeMap<Integer, Node> indices = new TreeMap<>();
+        Node append = null;
+        for (Node child : node.children.values()) {
+            if (child.index >= 0) {
+                indices.put(child.index, child);
+            } else if ("-".equals(child.name) && child.op == Op.ADD) {
+                append = child;
+            } else {
+                throw notFound(child);
+            }
+        }
+        if (sequential) {
+            checkShifts(indices.values());
+        }
+        generator.writeStartArray();
+        Iterator<Map.Entry<Integer, Node>> iterator = indices.entrySet().iterator();
+        Map.Entry<Integer, Node> next = iterator.hasNext() ? iterator.next() : null;
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (null == next || next.getKey() != index) {
+                generator.copyCurrentStructure(parser);
+            } else {
+                Node child = next.getValue();
+                if (child.op == Op.ADD) {
+                    writeValues(generator, child);
+                    generator.copyCurrentStructure(parser);
+                } else if (child.op == Op.REMOVE || child.op == Op.DELETE) {
+                    parser.skipChildren();
+                } else {
+                    write(parser, generator, child);
+                }
+                next = iterator.hasNext() ? iterator.next() : null;
+            }
+            index++;
+        }
+        if (null != next) {
+            //下标等于数组长度时，add 追加到末尾
+            if (next.getKey() != index || next.getValue().op != Op.ADD || iterator.hasNext()) {
+                throw notFound(next.getValue());
+            }
+            writeValues(generator, next.getValue());
+        }
+        if (null != append) {
+            writeValues(generator, append);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * RFC 6902 依次应用操作，数组中插入、删除元素后，之后的操作中相同及更大的下标都会偏移
+     * 操作树按原始文档的下标组织，无法表示偏移后的下标，这种情况抛出异常，不返回与规范不同的结果
+     */
+    private static void checkShifts(Collection<Node> children) {
+        for (Node shift : children) {
+            if (shift.op != Op.ADD && shift.op != Op.REMOVE) {
+                continue;
+            }
+            for (Node child : children) {
+                if (child.last > shift.last && child.index >= shift.index) {
+                    throw new JacksonException("jackson json patch error, index shifted by earlier operation, "
+                        + "path: {}, earlier: {}", child.path, shift.path);
+                }
+            }
+        }
+    }
+
+    private static void writeValues(JsonGenerator generator, Node node) throws IOException {
+        for (Object value : node.values) {
+            JacksonCodecRegistry.writer(value).writeValue(generator, value);
+        }
+    }
+
+    private static JacksonException notFound(Node node) {
+        return new JacksonException("jackson patch error, path not found: {}", node.path);
+    }
+
+    private JacksonPatch put(String path, Op op, Object value) {
+        JsonPointer pointer;
+        try {
+            pointer = JacksonUtil.compilePath(path);
+        } catch (IllegalArgumentException e) {
+            throw new JacksonException("jackson patch path error, path: {}", path, e);
+        }
+        sequence++;
+        Node node = root;
+        StringBuilder current = new StringBuilder();
+        for (; !pointer.matches(); pointer = pointer.tail()) {
+            if (node.op != null) {
+                throw new JacksonException("jackson patch path conflict, path: {}, conflict: {}", path, node.path);
+            }
+            String name = pointer.getMatchingProperty();
+            current.append('/').append(name.replace("~", "~0").replace("/", "~1"));
+            Node parent = node;
+            node = parent.children.get(name);
+            if (null == node) {
+                node = new Node(current.toString(), pointer.getMatchingIndex());
+                node.name = name;
+                node.ordinal = parent.children.size();
+                parent.children.put(name, node);
+            }
+            node.last = sequence;
+        }
+        if (op == Op.REMOVE && node == root) {
+            throw new JacksonException("jackson patch error, can not remove root");
+        }
+        boolean append = op == Op.ADD && node.op == Op.ADD && "-".equals(node.name);
+        if (!append && (node.op != null || !node.children.isEmpty())) {
+            throw new JacksonException("jackson patch path conflict, path: {}", path);
+        }
+        node.op = op;
+        if (op != Op.REMOVE) {
+            node.values.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * 按 RFC 7396 将合并补丁转换为操作树：null 删除，对象递归合并，其他值替换
+     */
+    private static void merge(Node node, ObjectNode patch) {
+        node.op = Op.MERGE;
+        node.values.add(withoutNulls(patch));
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            Node child = new Node(node.path + "/" + name.replace("~", "~0").replace("/", "~1"), -1);
+            child.name = name;
+            child.ordinal = node.children.size();
+            node.children.put(name, child);
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                child.op = Op.DELETE;
+            } else if (value.isObject()) {
+                merge(child, (ObjectNode)value);
+            } else {
+                child.op = Op.ADD;
+                child.values.add(value);
+            }
+        }
+    }
+
+    /**
+     * 目标不是对象时，合并的结果为去掉 null 属性后的补丁
+     */
+    private static ObjectNode withoutNulls(ObjectNode patch) {
+        ObjectNode result = patch.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isObject()) {
+                result.set(field.getKey(), withoutNulls((ObjectNode)value));
+            } else if (!value.isNull()) {
+                result.set(field.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    private static JsonNode readTree(String patch) {
+        try {
+            return JacksonUtil.getObjectMapper().readTree(patch);
+        } catch (IOException e) {
+            throw new JacksonException("jackson patch parse error, patch: {}", patch, e);
+        }
+    }
+
+    /**
+     * 操作树的节点，children 为下一级路径，op 为空表示只是中间节点
+     */
+    private static final class Node {
+        private final String path;
+        private final int index;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private final List<Object> values = new ArrayList<>(1);
+        private String name;
+        private int ordinal;
+        private Op op;
+        /**
+         * 子树中最后一个操作的序号
+         */
+        private int last;
+
+        private Node(String path, int index) {
+            this.path = path;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.dxy.library.json.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * 按需逐条反序列化的 Reactive Streams 发布者，同时支持顶层数组和 NDJSON（JSON Lines）
+ * 订阅者 request 多少条才从输入中解码多少条，内存占用与数据总量无关
+ * 项目需要自行引入 reactive-streams 依赖，Java 9 及以上可以通过 org.reactivestreams.FlowAdapters 转换为 java.util.concurrent.Flow
+ * 只能被订阅一次，完成、出错或取消后关闭 inputStream
+ * @author duanxinyuan
+ * 2026/10/18 21:10
+ */
+public class JacksonPublisher<V> implements Publisher<V> {
+
+    private final InputStream inputStream;
+    private final Class<V> type;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * 在调用 request 的线程中解码，读取输入会阻塞该线程
+     */
+    public JacksonPublisher(InputStream inputStream, Class<V> type) {
+        this(inputStream, type, Runnable::run);
+    }
+
+    /**
+     * 在 executor 中解码并回调 onNext，避免阻塞调用 request 的线程
+     */
+    public JacksonPublisher(InputStream inputStream, Class<V> type, Executor executor) {
+        this.inputStream = inputStream;
+        this.type = type;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super V> subscriber) {
+        if (null == subscriber) {
+            throw new NullPointerException("subscriber is null");
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("JacksonPublisher allows only a single subscriber"));
+            return;
+        }
+        MappingIterator<V> iterator;
+        try {
+            iterator = JacksonCodecRegistry.reader(type).readValues(inputStream);
+        } catch (IOException e) {
+            subscriber.onSubscribe(new JacksonSubscription<>(null, subscriber, executor));
+            subscriber.onError(new JacksonException("jackson publish error, type: {}", type, e));
+            return;
+        }
+        subscriber.onSubscribe(new JacksonSubscription<>(iterator, subscriber, executor));
+    }
+
+    /**
+     * request 累加需求量，由一个线程按需求量依次解码并回调，回调中再次 request 不会递归
+     */
+    private static final class JacksonSubscription<V> implements Subscription, Runnable {
+        private final MappingIterator<V> iterator;
+        private final Subscriber<? super V> subscriber;
+        private final Executor executor;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private boolean done;
+
+        private JacksonSubscription(MappingIterator<V> iterator, Subscriber<? super V> subscriber, Executor executor) {
+            this.iterator = iterator;
+            this.subscriber = subscriber;
+            this.executor = executor;
+            this.done = null == iterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request must be positive, n: " + n);
+            } else {
+                long current;
+                do {
+                    current = requested.get();
+                    if (current == Long.MAX_VALUE) {
+                        break;
+                    }
+                } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (done) {
+                    wip.set(0);
+                    return;
+                }
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (cancelled) {
+                finish(null, false);
+                return;
+            }
+            if (null != error) {
+                finish(error, true);
+                return;
+            }
+            long demand = requested.get();
+            long emitted = 0;
+            try {
+                while (emitted != demand) {
+                    if (cancelled) {
+                        finish(null, false);
+                        return;
+                    }
+                    if (!iterator.hasNextValue()) {
+                        finish(null, true);
+                        return;
+                    }
+                    subscriber.onNext(iterator.nextValue());
+                    emitted++;
+                }
+            } catch (IOException | RuntimeException e) {
+                finish(new JacksonException("jackson publish error", e), true);
+                return;
+            }
+            if (demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+        }
+
+        private void finish(Throwable throwable, boolean signal) {
+            done = true;
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                if (null == throwable) {
+                    throwable = new JacksonException("jackson publisher close error", e);
+                }
+            }
+            if (!signal) {
+                return;
+            }
+            if (null == throwable) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(throwable);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.dxy.library.json.jackson;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.BufferRecyclers;
+
+/**
+ * 读写缓冲区（BufferRecycler）的复用策略，见 {@link JacksonUtil#initMapper(JacksonRecyclerPool)}
+ * Jackson 默认按 ThreadLocal 复用，虚拟线程生命周期很短，每次序列化都会重新分配缓冲区
+ * 默认策略为 AUTO，可通过系统属性 jackson.recyclerPool 配置
+ * @author duanxinyuan
+ * 2026/10/18 21:40
+ */
+public enum JacksonRecyclerPool {
+
+    /**
+     * 按 ThreadLocal 复用（Jackson 默认）
+     */
+    THREAD_LOCAL {
+        @Override
+        public BufferRecycler getBufferRecycler() {
+            return BufferRecyclers.getBufferRecycler();
+        }
+    },
+
+    /**
+     * 固定数量的共享 BufferRecycler，按线程id分散，无锁
+     * 多个线程同时取到同一个 BufferRecycler 时，后取的线程取不到缓冲区，退化为新分配
+     */
+    SHARED {
+        @Override
+        public BufferRecycler getBufferRecycler() {
+            return Shared.get();
+        }
+    },
+
+    /**
+     * 虚拟线程使用 SHARED，平台线程使用 THREAD_LOCAL
+     */
+    AUTO {
+        @Override
+        public BufferRecycler getBufferRecycler() {
+            return VirtualThreads.isVirtual(Thread.currentThread()) ? Shared.get()
+                : BufferRecyclers.getBufferRecycler();
+        }
+    };
+
+    /**
+     * 获取当前线程使用的 BufferRecycler
+     */
+    public abstract BufferRecycler getBufferRecycler();
+
+    /**
+     * 默认策略，系统属性 jackson.recyclerPool 未配置时为 AUTO
+     */
+    public static JacksonRecyclerPool getDefault() {
+        return valueOf(System.getProperty("jackson.recyclerPool", AUTO.name()).toUpperCase());
+    }
+
+    /**
+     * 共享的 BufferRecycler，首次使用时创建，数量为CPU核数的4倍（取2的幂）
+     */
+    private static class Shared {
+        private static final BufferRecycler[] RECYCLERS;
+        private static final int MASK;
+
+        static {
+            int size = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4) - 1) << 1;
+            RECYCLERS = new BufferRecycler[size];
+            for (int i = 0; i < size; i++) {
+                RECYCLERS[i] = new BufferRecycler();
+            }
+            MASK = size - 1;
+        }
+
+        private static BufferRecycler get() {
+            long id = Thread.currentThread().getId();
+            return RECYCLERS[(int)(id ^ (id >>> 32)) & MASK];
+        }
+    }
+
+    /**
+     * 通过反射调用 JDK 21 的 Thread.isVirtual()，低版本JDK上始终为 false
+     */
+    private static class VirtualThreads {
+        private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+        private static MethodHandle findIsVirtual() {
+            try {
+                return MethodHandles.publicLookup().unreflect(Thread.class.getMethod("isVirtual"));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static boolean isVirtual(Thread thread) {
+            if (null == IS_VIRTUAL) {
+                return false;
+            }
+            try {
+                return (boolean)IS_VIRTUAL.invokeExact(thread);
+            } catch (Throwable e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.dxy.library.json.jackson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * 将 Reactive Streams 中的对象逐条序列化到输出流的订阅者，输出为 json 数组或 NDJSON（JSON Lines）
+ * 每次只请求 batchSize 条，处理完一半后再补充，内存占用与数据总量无关；逐条写入时不 flush，完成时才 flush 输出流
+ * 项目需要自行引入 reactive-streams 依赖；不关闭 outputStream，完成或出错后通过 getCompletion() 获取结果
+ * @author duanxinyuan
+ * 2026/10/18 21:10
+ */
+public class JacksonSubscriber<V> implements Subscriber<V> {
+
+    /**
+     * 默认每批请求的条数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final OutputStream outputStream;
+    private final boolean lines;
+    private final int batchSize;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Subscription subscription;
+    private JsonGenerator generator;
+    private int received;
+    private Class<?> writerType;
+    private ObjectWriter writer;
+
+    /**
+     * @param lines true 输出 NDJSON，每条一行；false 输出 json 数组
+     */
+    public JacksonSubscriber(OutputStream outputStream, boolean lines) {
+        this(outputStream, lines, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param lines true 输出 NDJSON，每条一行；false 输出 json 数组
+     * @param batchSize 每批请求的条数
+     */
+    public JacksonSubscriber(OutputStream outputStream, boolean lines, int batchSize) {
+        this.outputStream = outputStream;
+        this.lines = lines;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 全部写入并 flush 后正常完成，上游出错或写入出错时异常完成
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (null != this.subscription) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        try {
+            generator = JacksonUtil.getObjectMapper().getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            //出错时不自动补全结尾，避免输出看起来完整的数组
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (lines) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+        } catch (IOException e) {
+            subscription.cancel();
+            completion.completeExceptionally(new JacksonException("jackson subscribe error", e));
+            return;
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(V v) {
+        if (completion.isDone()) {
+            return;
+        }
+        try {
+            writer(v).writeValue(generator, v);
+            if (lines) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException | RuntimeException e) {
+            subscription.cancel();
+            closeQuietly();
+            completion.completeExceptionally(new JacksonException("jackson subscribe write error, data: {}", v, e));
+            return;
+        }
+        //处理完一半后补充，避免上游等待
+        if (++received == (batchSize + 1) / 2) {
+            received = 0;
+            subscription.request((batchSize + 1) / 2);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (completion.isDone()) {
+            return;
+        }
+        closeQuietly();
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (completion.isDone()) {
+            return;
+        }
+        try {
+            if (!lines) {
+                generator.writeEndArray();
+            }
+            generator.close();
+            completion.complete(null);
+        } catch (IOException e) {
+            completion.completeExceptionally(new JacksonException("jackson subscribe complete error", e));
+        }
+    }
+
+    /**
+     * 不在每条记录后 flush 的 ObjectWriter，数据通常是同一类型，类型变化时才重新创建
+     */
+    private ObjectWriter writer(V v) {
+        Class<?> type = null == v ? null : v.getClass();
+        if (null == writer || type != writerType) {
+            writer = JacksonCodecRegistry.writer(v).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            writerType = type;
+        }
+        return writer;
+    }
+
+    private void closeQuietly() {
+        if (null == generator) {
+            return;
+        }
+        try {
+            generator.close();
+        } catch (IOException | RuntimeException e) {
+            //已经在处理异常，关闭时的异常忽略
+        }
+    }
+}
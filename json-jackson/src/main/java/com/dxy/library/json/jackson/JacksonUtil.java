@@ -4,37 +4,47 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+import com.dxy.library.json.common.JsonType;
+import com.dxy.library.json.common.ParseResultCache;
+import com.dxy.library.json.common.StringCanonicalizer;
 import com.dxy.library.json.jackson.exception.JacksonException;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.type.CollectionType;
-import com.fasterxml.jackson.databind.type.MapType;
-import com.fasterxml.jackson.databind.type.SimpleType;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -57,7 +67,18 @@ import org.apache.commons.lang3.StringUtils;
  */
 @Slf4j
 public class JacksonUtil {
-    private static ObjectMapper mapper;
+    private static volatile ObjectMapper mapper;
+
+    /**
+     * 反序列化结果缓存，默认不开启
+     */
+    private static volatile ParseResultCache parseResultCache;
+
+    /**
+     * 编译后的路径缓存，超过上限后不再缓存
+     */
+    private static final int PATH_CACHE_SIZE = 1024;
+    private static final Map<String, JsonPointer> PATH_CACHE = new ConcurrentHashMap<>();
 
     private static final Set<JsonReadFeature> JSON_READ_FEATURES_ENABLED = Sets.newHashSet(
         //允许在JSON中使用Java注释
@@ -88,7 +109,14 @@ public class JacksonUtil {
     }
 
     public static ObjectMapper initMapper() {
-        JsonMapper.Builder builder = JsonMapper.builder().enable(
+        return initMapper(JacksonRecyclerPool.getDefault());
+    }
+
+    /**
+     * @param recyclerPool 读写缓冲区的复用策略，虚拟线程下使用 SHARED 或 AUTO
+     */
+    public static ObjectMapper initMapper(JacksonRecyclerPool recyclerPool) {
+        JsonMapper.Builder builder = JsonMapper.builder(new JacksonJsonFactory(recyclerPool)).enable(
             JSON_READ_FEATURES_ENABLED.toArray(new JsonReadFeature[0]));
         return initMapperConfig(builder.build());
     }
@@ -130,16 +158,52 @@ public class JacksonUtil {
         return objectMapper;
     }
 
+    /**
+     * 获取当前使用的 ObjectMapper
+     * 各类型的 ObjectReader/ObjectWriter 首次使用时按当时的配置创建并缓存，之后直接修改该 ObjectMapper 的配置不会生效，
+     * 修改后需要调用 clearCodecCache()
+     */
     public static ObjectMapper getObjectMapper() {
         return mapper;
     }
 
+    /**
+     * 开启字符串值规范化，相同内容的短字符串共用同一个实例，适用于取值重复度很高的数据
+     * 在当前 ObjectMapper 的副本上注册 String 反序列化器后替换，通过 getObjectMapper() 做的配置会保留
+     * 命中率通过 canonicalizer 的 getHits()/getMisses() 查看
+     */
+    public static void enableStringCanonicalization(StringCanonicalizer canonicalizer) {
+        //不指定名称，重复开启时不会被当作重复注册而忽略，后注册的反序列化器优先
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(String.class, new CanonicalStringDeserializer(canonicalizer));
+        ObjectMapper copy = mapper.copy();
+        copy.registerModule(module);
+        mapper = copy;
+        clearCodecCache();
+    }
+
+    /**
+     * 开启反序列化结果缓存，from(String, ...) 解析声明为不可变的类型时，相同的json串直接返回上次的结果
+     * 命中率通过 cache 的 getHits()/getMisses()/getEvictions() 查看，传入 null 时关闭
+     */
+    public static void enableParseResultCache(ParseResultCache cache) {
+        parseResultCache = cache;
+    }
+
+    /**
+     * 清空按类型缓存的ObjectReader/ObjectWriter
+     * ObjectReader/ObjectWriter创建时会固定当时的配置，通过 getObjectMapper() 修改配置后需要调用
+     */
+    public static void clearCodecCache() {
+        JacksonCodecRegistry.clear();
+    }
+
     /**
      * JSON反序列化
      */
     public static <V> V from(URL url, Class<V> type) {
         try {
-            return mapper.readValue(url, type);
+            return JacksonCodecRegistry.reader(type).readValue(url);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, url: {}, type: {}", url.getPath(), type, e);
         }
@@ -150,7 +214,7 @@ public class JacksonUtil {
      */
     public static <V> V from(URL url, TypeReference<V> type) {
         try {
-            return mapper.readValue(url, type);
+            return JacksonCodecRegistry.reader(type.getType()).readValue(url);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, url: {}, type: {}", url.getPath(), type, e);
         }
@@ -161,8 +225,7 @@ public class JacksonUtil {
      */
     public static <V> List<V> fromList(URL url, Class<V> type) {
         try {
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(ArrayList.class, type);
-            return mapper.readValue(url, collectionType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type).readValue(url);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, url: {}, type: {}", url.getPath(), type, e);
         }
@@ -173,7 +236,7 @@ public class JacksonUtil {
      */
     public static <V> V from(InputStream inputStream, Class<V> type) {
         try {
-            return mapper.readValue(inputStream, type);
+            return JacksonCodecRegistry.reader(type).readValue(inputStream);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, type: {}", type, e);
         }
@@ -184,7 +247,7 @@ public class JacksonUtil {
      */
     public static <V> V from(InputStream inputStream, TypeReference<V> type) {
         try {
-            return mapper.readValue(inputStream, type);
+            return JacksonCodecRegistry.reader(type.getType()).readValue(inputStream);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, type: {}", type, e);
         }
@@ -195,8 +258,7 @@ public class JacksonUtil {
      */
     public static <V> List<V> fromList(InputStream inputStream, Class<V> type) {
         try {
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(ArrayList.class, type);
-            return mapper.readValue(inputStream, collectionType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type).readValue(inputStream);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, type: {}", type, e);
         }
@@ -207,7 +269,7 @@ public class JacksonUtil {
      */
     public static <V> V from(File file, Class<V> type) {
         try {
-            return mapper.readValue(file, type);
+            return JacksonCodecRegistry.reader(type).readValue(file);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, file path: {}, type: {}", file.getPath(), type, e);
         }
@@ -218,7 +280,7 @@ public class JacksonUtil {
      */
     public static <V> V from(File file, TypeReference<V> type) {
         try {
-            return mapper.readValue(file, type);
+            return JacksonCodecRegistry.reader(type.getType()).readValue(file);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, file path: {}, type: {}", file.getPath(), type, e);
         }
@@ -229,13 +291,72 @@ public class JacksonUtil {
      */
     public static <V> List<V> fromList(File file, Class<V> type) {
         try {
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(ArrayList.class, type);
-            return mapper.readValue(file, collectionType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type).readValue(file);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, file path: {}, type: {}", file.getPath(), type, e);
         }
     }
 
+    /**
+     * 逐条反序列化（顶层数组或 NDJSON），内存占用与数据总量无关
+     * 提前结束时需要关闭迭代器，建议使用 try-with-resources，多核并行解码 NDJSON 见 {@link JacksonParallelReader}
+     */
+    public static <V> JacksonIterator<V> iterate(File file, Class<V> type) {
+        try {
+            return new JacksonIterator<>(JacksonCodecRegistry.reader(type).readValues(file));
+        } catch (IOException e) {
+            throw new JacksonException("jackson iterate error, file path: {}, type: {}", file.getPath(), type, e);
+        }
+    }
+
+    /**
+     * 逐条反序列化（顶层数组或 NDJSON），内存占用与数据总量无关
+     * 提前结束时需要关闭迭代器，建议使用 try-with-resources，关闭时同时关闭 inputStream
+     */
+    public static <V> JacksonIterator<V> iterate(InputStream inputStream, Class<V> type) {
+        try {
+            return new JacksonIterator<>(JacksonCodecRegistry.reader(type).readValues(inputStream));
+        } catch (IOException e) {
+            throw new JacksonException("jackson iterate error, type: {}", type, e);
+        }
+    }
+
+    /**
+     * 逐条反序列化（顶层数组或 NDJSON），内存占用与数据总量无关
+     * 提前结束时需要关闭迭代器，建议使用 try-with-resources
+     */
+    public static <V> JacksonIterator<V> iterate(URL url, Class<V> type) {
+        try {
+            return new JacksonIterator<>(JacksonCodecRegistry.reader(type).readValues(url));
+        } catch (IOException e) {
+            throw new JacksonException("jackson iterate error, url: {}, type: {}", url.getPath(), type, e);
+        }
+    }
+
+    /**
+     * 逐条反序列化为顺序流（顶层数组或 NDJSON），内存占用与数据总量无关
+     * 提前结束时需要关闭流，建议使用 try-with-resources
+     */
+    public static <V> Stream<V> stream(File file, Class<V> type) {
+        return iterate(file, type).stream();
+    }
+
+    /**
+     * 逐条反序列化为顺序流（顶层数组或 NDJSON），内存占用与数据总量无关
+     * 提前结束时需要关闭流，建议使用 try-with-resources，关闭时同时关闭 inputStream
+     */
+    public static <V> Stream<V> stream(InputStream inputStream, Class<V> type) {
+        return iterate(inputStream, type).stream();
+    }
+
+    /**
+     * 逐条反序列化为顺序流（顶层数组或 NDJSON），内存占用与数据总量无关
+     * 提前结束时需要关闭流，建议使用 try-with-resources
+     */
+    public static <V> Stream<V> stream(URL url, Class<V> type) {
+        return iterate(url, type).stream();
+    }
+
     /**
      * JSON反序列化
      */
@@ -257,14 +378,114 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
+        ParseResultCache cache = parseResultCache;
+        if (null != cache) {
+            return cache.get(json, type, value -> readValue(value, type));
+        }
+        return readValue(json, type);
+    }
+
+    private static <V> V readValue(String json, Type type) {
         try {
-            JavaType javaType = mapper.getTypeFactory().constructType(type);
-            return mapper.readValue(json, javaType);
+            return JacksonCodecRegistry.reader(type).readValue(json);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, json: {}, type: {}", json, type, e);
         }
     }
 
+    /**
+     * JSON反序列化，输入为UTF-8编码的字节，直接使用字节解析器，不需要先解码为String
+     */
+    public static <V> V from(byte[] json, Class<V> type) {
+        return from(json, (Type)type);
+    }
+
+    /**
+     * JSON反序列化，输入为UTF-8编码的字节，直接使用字节解析器，不需要先解码为String
+     */
+    public static <V> V from(byte[] json, TypeReference<V> type) {
+        return from(json, type.getType());
+    }
+
+    /**
+     * JSON反序列化，输入为UTF-8编码的字节，直接使用字节解析器，不需要先解码为String
+     */
+    public static <V> V from(byte[] json, Type type) {
+        if (null == json) {
+            return null;
+        }
+        return from(json, 0, json.length, type);
+    }
+
+    /**
+     * JSON反序列化，输入为UTF-8编码的字节数组中 [offset, offset + length) 的部分，不复制数组
+     */
+    public static <V> V from(byte[] json, int offset, int length, Class<V> type) {
+        return from(json, offset, length, (Type)type);
+    }
+
+    /**
+     * JSON反序列化，输入为UTF-8编码的字节数组中 [offset, offset + length) 的部分，不复制数组
+     * @throws IndexOutOfBoundsException 范围超出数组时抛出，不交给解析器读越界的数据
+     */
+    public static <V> V from(byte[] json, int offset, int length, Type type) {
+        if (null == json) {
+            return null;
+        }
+        if (offset < 0 || length < 0 || offset > json.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length
+                + ", json length: " + json.length);
+        }
+        if (length == 0) {
+            return null;
+        }
+        try {
+            return JacksonCodecRegistry.reader(type).readValue(json, offset, length);
+        } catch (IOException e) {
+            throw new JacksonException("jackson from error, json length: {}, type: {}", length, type, e);
+        }
+    }
+
+    /**
+     * JSON反序列化，输入为 buffer 中 position 到 limit 之间的UTF-8编码的字节，不改变 buffer 的 position
+     * 堆内 buffer 直接解析底层数组，堆外 buffer 按流读取，都不复制数据
+     */
+    public static <V> V from(ByteBuffer buffer, Class<V> type) {
+        return from(buffer, (Type)type);
+    }
+
+    /**
+     * JSON反序列化，输入为 buffer 中 position 到 limit 之间的UTF-8编码的字节，不改变 buffer 的 position
+     * 堆内 buffer 直接解析底层数组，堆外 buffer 按流读取，都不复制数据
+     */
+    public static <V> V from(ByteBuffer buffer, Type type) {
+        if (null == buffer || !buffer.hasRemaining()) {
+            return null;
+        }
+        if (buffer.hasArray()) {
+            return from(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), type);
+        }
+        try {
+            return JacksonCodecRegistry.reader(type).readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+        } catch (IOException e) {
+            throw new JacksonException("jackson from error, json length: {}, type: {}", buffer.remaining(), type, e);
+        }
+    }
+
+    /**
+     * JSON反序列化（List），输入为UTF-8编码的字节
+     */
+    public static <V> List<V> fromList(byte[] json, Class<V> type) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try {
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type).readValue(json);
+        } catch (IOException e) {
+            throw new JacksonException("jackson from error, json length: {}, type: {}", json.length, type, e);
+        }
+    }
+
     /**
      * JSON反序列化（List）
      */
@@ -273,8 +494,7 @@ public class JacksonUtil {
             return null;
         }
         try {
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(HashSet.class, type);
-            return mapper.readValue(json, collectionType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.SET, type).readValue(json);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, json: {}, type: {}", json, type, e);
         }
@@ -288,13 +508,75 @@ public class JacksonUtil {
             return null;
         }
         try {
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(ArrayList.class, type);
-            return mapper.readValue(json, collectionType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type).readValue(json);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, json: {}, type: {}", json, type, e);
         }
     }
 
+    /**
+     * JSON反序列化（int[]），由 Jackson 的基本类型数组反序列化器直接解析到可扩容的 int[]，元素不装箱
+     */
+    public static int[] fromIntArray(String json) {
+        return from(json, int[].class);
+    }
+
+    /**
+     * JSON反序列化（int[]），输入为UTF-8编码的字节
+     */
+    public static int[] fromIntArray(byte[] json) {
+        return from(json, int[].class);
+    }
+
+    /**
+     * JSON反序列化（int[]）
+     */
+    public static int[] fromIntArray(InputStream inputStream) {
+        return from(inputStream, int[].class);
+    }
+
+    /**
+     * JSON反序列化（long[]），由 Jackson 的基本类型数组反序列化器直接解析到可扩容的 long[]，元素不装箱
+     */
+    public static long[] fromLongArray(String json) {
+        return from(json, long[].class);
+    }
+
+    /**
+     * JSON反序列化（long[]），输入为UTF-8编码的字节
+     */
+    public static long[] fromLongArray(byte[] json) {
+        return from(json, long[].class);
+    }
+
+    /**
+     * JSON反序列化（long[]）
+     */
+    public static long[] fromLongArray(InputStream inputStream) {
+        return from(inputStream, long[].class);
+    }
+
+    /**
+     * JSON反序列化（double[]），由 Jackson 的基本类型数组反序列化器直接解析到可扩容的 double[]，元素不装箱
+     */
+    public static double[] fromDoubleArray(String json) {
+        return from(json, double[].class);
+    }
+
+    /**
+     * JSON反序列化（double[]），输入为UTF-8编码的字节
+     */
+    public static double[] fromDoubleArray(byte[] json) {
+        return from(json, double[].class);
+    }
+
+    /**
+     * JSON反序列化（double[]）
+     */
+    public static double[] fromDoubleArray(InputStream inputStream) {
+        return from(inputStream, double[].class);
+    }
+
     /**
      * JSON反序列化（Map）
      */
@@ -303,8 +585,7 @@ public class JacksonUtil {
             return null;
         }
         try {
-            MapType mapType = mapper.getTypeFactory().constructMapType(HashMap.class, keyType, valueType);
-            return mapper.readValue(json, mapType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.MAP, keyType, valueType).readValue(json);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, json: {}, keyType: {}, valueType: {}", json, e);
         }
@@ -318,10 +599,7 @@ public class JacksonUtil {
             return null;
         }
         try {
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(ArrayList.class, valueType);
-            MapType mapType = mapper.getTypeFactory().constructMapType(HashMap.class,
-                SimpleType.constructUnsafe(keyType), collectionType);
-            return mapper.readValue(json, mapType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST_MAP, keyType, valueType).readValue(json);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, json: {}, keyType: {}, valueType: {}", json, e);
         }
@@ -335,10 +613,7 @@ public class JacksonUtil {
             return null;
         }
         try {
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(HashSet.class, valueType);
-            MapType mapType = mapper.getTypeFactory().constructMapType(HashMap.class,
-                SimpleType.constructUnsafe(keyType), collectionType);
-            return mapper.readValue(json, mapType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.SET_MAP, keyType, valueType).readValue(json);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, json: {}, keyType: {}, valueType: {}", json, e);
         }
@@ -352,10 +627,7 @@ public class JacksonUtil {
             return null;
         }
         try {
-            MapType mapType = mapper.getTypeFactory().constructMapType(HashMap.class,
-                SimpleType.constructUnsafe(keyType), SimpleType.constructUnsafe(valueType));
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(ArrayList.class, mapType);
-            return mapper.readValue(json, collectionType);
+            return JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.MAP_LIST, keyType, valueType).readValue(json);
         } catch (IOException e) {
             throw new JacksonException("jackson from error, json: {}, keyType: {}, valueType: {}", json, e);
         }
@@ -366,7 +638,7 @@ public class JacksonUtil {
      */
     public static <V> String to(List<V> list) {
         try {
-            return mapper.writeValueAsString(list);
+            return JacksonCodecRegistry.writer(list).writeValueAsString(list);
         } catch (JsonProcessingException e) {
             throw new JacksonException("jackson to error, data: {}", list, e);
         }
@@ -377,14 +649,85 @@ public class JacksonUtil {
      */
     public static <V> String to(V v) {
         try {
-            return mapper.writeValueAsString(v);
+            return JacksonCodecRegistry.writer(v).writeValueAsString(v);
         } catch (JsonProcessingException e) {
             throw new JacksonException("jackson to error, data: {}", v, e);
         }
     }
 
     /**
-     * 序列化为JSON
+     * 序列化为JSON（int[]），直接写出数值，不经过序列化器查找和装箱
+     */
+    public static String toJson(int[] values) {
+        if (null == values) {
+            return "null";
+        }
+        StringWriter writer = new StringWriter(values.length * 4 + 2);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            generator.writeArray(values, 0, values.length);
+        } catch (IOException e) {
+            throw new JacksonException("jackson to error, data: {}", values, e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 序列化为JSON（long[]），直接写出数值，不经过序列化器查找和装箱
+     */
+    public static String toJson(long[] values) {
+        if (null == values) {
+            return "null";
+        }
+        StringWriter writer = new StringWriter(values.length * 4 + 2);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            generator.writeArray(values, 0, values.length);
+        } catch (IOException e) {
+            throw new JacksonException("jackson to error, data: {}", values, e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 序列化为JSON（double[]），直接写出数值，不经过序列化器查找和装箱
+     */
+    public static String toJson(double[] values) {
+        if (null == values) {
+            return "null";
+        }
+        StringWriter writer = new StringWriter(values.length * 4 + 2);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            generator.writeArray(values, 0, values.length);
+        } catch (IOException e) {
+            throw new JacksonException("jackson to error, data: {}", values, e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 序列化为UTF-8编码的JSON字节，直接使用字节生成器，不经过String
+     */
+    public static <V> byte[] toBytes(V v) {
+        try {
+            return JacksonCodecRegistry.writer(v).writeValueAsBytes(v);
+        } catch (JsonProcessingException e) {
+            throw new JacksonException("jackson to error, data: {}", v, e);
+        }
+    }
+
+    /**
+     * 序列化为UTF-8编码的JSON写入输出流，写入后 flush，不关闭 outputStream
+     */
+    public static <V> void writeTo(OutputStream outputStream, V v) {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            JacksonCodecRegistry.writer(v).writeValue(generator, v);
+        } catch (IOException e) {
+            throw new JacksonException("jackson to error, data: {}", v, e);
+        }
+    }
+
+    /**
+     * 序列化为JSON，每次调用都会打开、关闭文件，大量追加写入时使用 {@link JacksonAppender}
      */
     public static <V> void toFile(String path, List<V> list) {
         try (Writer writer = new FileWriter(new File(path), true)) {
@@ -395,7 +738,7 @@ public class JacksonUtil {
     }
 
     /**
-     * 序列化为JSON
+     * 序列化为JSON，每次调用都会打开、关闭文件，大量追加写入时使用 {@link JacksonAppender}
      */
     public static <V> void toFile(String path, V v) {
         try (Writer writer = new FileWriter(new File(path), true)) {
@@ -413,19 +756,36 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return null;
             }
-            return getAsString(jsonNode);
+            return getAsString(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get string error, json: {}, key: {}", json, key, e);
         }
     }
 
-    private static String getAsString(JsonNode jsonNode) {
-        return jsonNode.isTextual() ? jsonNode.textValue() : jsonNode.toString();
+    /**
+     * 将字段值反序列化为指定类型，直接从JsonNode绑定，不再转成json串重新解析
+     */
+    static <V> V getAsObject(JsonNode jsonNode, ObjectReader reader) throws IOException {
+        try (JsonParser parser = mapper.treeAsTokens(jsonNode)) {
+            parser.nextToken();
+            return getAsObject(parser, reader);
+        }
+    }
+
+    /**
+     * 将parser当前位置的值反序列化为指定类型，直接从token流绑定，目标字段只解析一遍
+     * 字符串值视为内嵌的json串，兼容字段值被二次编码的情况
+     */
+    static <V> V getAsObject(JsonParser parser, ObjectReader reader) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String json = parser.getText();
+            return StringUtils.isEmpty(json) ? null : reader.readValue(json);
+        }
+        return reader.readValue(parser);
     }
 
     /**
@@ -436,12 +796,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return 0;
             }
-            return jsonNode.isInt() ? jsonNode.intValue() : Integer.parseInt(getAsString(jsonNode));
+            return getAsInt(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get int error, json: {}, key: {}", json, key, e);
         }
@@ -455,12 +814,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0L;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return 0L;
             }
-            return jsonNode.isLong() ? jsonNode.longValue() : Long.parseLong(getAsString(jsonNode));
+            return getAsLong(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get long error, json: {}, key: {}", json, key, e);
         }
@@ -474,12 +832,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0.0;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return 0.0;
             }
-            return jsonNode.isDouble() ? jsonNode.doubleValue() : Double.parseDouble(getAsString(jsonNode));
+            return getAsDouble(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get double error, json: {}, key: {}", json, key, e);
         }
@@ -487,18 +844,17 @@ public class JacksonUtil {
 
     /**
      * 从json串中获取某个字段
-     * @return BigInteger，默认为 0.0
+     * @return BigInteger，默认为 0
      */
     public static BigInteger getAsBigInteger(String json, String key) {
         if (StringUtils.isEmpty(json)) {
-            return new BigInteger(String.valueOf(0.00));
+            return BigInteger.ZERO;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
-                return new BigInteger(String.valueOf(0.00));
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
+                return BigInteger.ZERO;
             }
-            return jsonNode.isBigInteger() ? jsonNode.bigIntegerValue() : new BigInteger(getAsString(jsonNode));
+            return getAsBigInteger(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get big integer error, json: {}, key: {}", json, key, e);
         }
@@ -512,12 +868,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return new BigDecimal("0.00");
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return new BigDecimal("0.00");
             }
-            return jsonNode.isBigDecimal() ? jsonNode.decimalValue() : new BigDecimal(getAsString(jsonNode));
+            return getAsBigDecimal(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get big decimal error, json: {}, key: {}", json, key, e);
         }
@@ -531,25 +886,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return false;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return false;
             }
-            if (jsonNode.isBoolean()) {
-                return jsonNode.booleanValue();
-            } else {
-                if (jsonNode.isTextual()) {
-                    String textValue = jsonNode.textValue();
-                    if ("1".equals(textValue)) {
-                        return true;
-                    } else {
-                        return BooleanUtils.toBoolean(textValue);
-                    }
-                } else {//number
-                    return BooleanUtils.toBoolean(jsonNode.intValue());
-                }
-            }
+            return getAsBoolean(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get boolean error, json: {}, key: {}", json, key, e);
         }
@@ -563,13 +904,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return 0;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return 0;
             }
-            return jsonNode.isInt() ? new Integer(jsonNode.intValue()).byteValue()
-                : Byte.parseByte(getAsString(jsonNode));
+            return getAsByte(parser);
         } catch (Exception e) {
             throw new JacksonException("jackson get byte error, json: {}, key: {}", json, key, e);
         }
@@ -583,13 +922,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return null;
             }
-            JavaType javaType = mapper.getTypeFactory().constructType(type);
-            return from(getAsString(jsonNode), javaType);
+            return getAsObject(parser, JacksonCodecRegistry.reader(type));
         } catch (Exception e) {
             throw new JacksonException("jackson get list error, json: {}, key: {}, type: {}", json, key, type, e);
         }
@@ -603,13 +940,11 @@ public class JacksonUtil {
         if (StringUtils.isEmpty(json)) {
             return null;
         }
-        try {
-            JsonNode jsonNode = getAsJsonObject(json, key);
-            if (null == jsonNode) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return null;
             }
-            CollectionType collectionType = mapper.getTypeFactory().constructCollectionType(ArrayList.class, type);
-            return from(getAsString(jsonNode), collectionType);
+            return getAsObject(parser, JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type));
         } catch (Exception e) {
             throw new JacksonException("jackson get list error, json: {}, key: {}, type: {}", json, key, type, e);
         }
@@ -620,90 +955,984 @@ public class JacksonUtil {
      * @return JsonNode, 默认为 null
      */
     public static JsonNode getAsJsonObject(String json, String key) {
-        try {
-            JsonNode node = mapper.readTree(json);
-            if (null == node) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekField(parser, key)) {
                 return null;
             }
-            return node.get(key);
+            return mapper.readTree(parser);
         } catch (IOException e) {
             throw new JacksonException("jackson get object from json error, json: {}, key: {}", json, key, e);
         }
     }
 
     /**
-     * 向json中添加属性
-     * @return json
+     * 从json串中一次性获取多个字段，只解析一遍
+     * @return 字段集合，不存在的字段取值时返回与 getAs* 相同的默认值
      */
-    public static <V> String add(String json, String key, V value) {
-        try {
-            JsonNode node = mapper.readTree(json);
-            add(node, key, value);
-            return node.toString();
+    public static JacksonFields getAsFields(String json, String... keys) {
+        return getAsFields(json, Sets.newHashSet(keys));
+    }
+
+    /**
+     * 从json串中一次性获取多个字段，只解析一遍
+     * 其它字段的子树直接跳过，所有字段都找到后立即返回，keys 可以预先构建好重复使用
+     * @return 字段集合，不存在的字段取值时返回与 getAs* 相同的默认值
+     */
+    public static JacksonFields getAsFields(String json, Set<String> keys) {
+        Map<String, JsonNode> values = new HashMap<>();
+        if (StringUtils.isEmpty(json)) {
+            return new JacksonFields(values);
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new JacksonFields(values);
+            }
+            String fieldName;
+            while (values.size() < keys.size() && (fieldName = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                if (keys.contains(fieldName) && !values.containsKey(fieldName)) {
+                    values.put(fieldName, mapper.readTree(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new JacksonFields(values);
         } catch (IOException e) {
-            throw new JacksonException("jackson add error, json: {}, key: {}, value: {}", json, key, value, e);
+            throw new JacksonException("jackson get fields error, json: {}, keys: {}", json, keys, e);
         }
     }
 
     /**
-     * 向json中添加属性
+     * 解析为只读的json文档，适用于同一个json需要多次按字段、路径随机取值的场景
+     * 只记录每个值的位置，取值时才解码，内存占用远小于 JsonNode
+     * @return 文档, json为空时返回 null
      */
-    private static <V> void add(JsonNode jsonNode, String key, V value) {
-        if (value instanceof String) {
-            ((ObjectNode)jsonNode).put(key, (String)value);
-        } else if (value instanceof Short) {
-            ((ObjectNode)jsonNode).put(key, (Short)value);
-        } else if (value instanceof Integer) {
-            ((ObjectNode)jsonNode).put(key, (Integer)value);
-        } else if (value instanceof Long) {
-            ((ObjectNode)jsonNode).put(key, (Long)value);
-        } else if (value instanceof Float) {
-            ((ObjectNode)jsonNode).put(key, (Float)value);
-        } else if (value instanceof Double) {
-            ((ObjectNode)jsonNode).put(key, (Double)value);
-        } else if (value instanceof BigDecimal) {
-            ((ObjectNode)jsonNode).put(key, (BigDecimal)value);
-        } else if (value instanceof BigInteger) {
-            ((ObjectNode)jsonNode).put(key, (BigInteger)value);
-        } else if (value instanceof Boolean) {
-            ((ObjectNode)jsonNode).put(key, (Boolean)value);
-        } else if (value instanceof byte[]) {
-            ((ObjectNode)jsonNode).put(key, (byte[])value);
-        } else {
-            ((ObjectNode)jsonNode).put(key, to(value));
+    public static JacksonDocument parseDocument(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
         }
+        return parseDocument(json.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * 除去json中的某个属性
-     * @return json
+     * 解析为只读的json文档，不复制 json，解析后不能再修改
+     * @return 文档, json为空时返回 null
      */
-    public static String remove(String json, String key) {
+    public static JacksonDocument parseDocument(byte[] json) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
         try {
-            JsonNode node = mapper.readTree(json);
-            ((ObjectNode)node).remove(key);
-            return node.toString();
+            return JacksonDocument.parse(json);
         } catch (IOException e) {
-            throw new JacksonException("jackson remove error, json: {}, key: {}", json, key, e);
+            throw new JacksonException("jackson parse document error", e);
         }
     }
 
     /**
-     * 修改json中的属性
+     * 编译json路径（JSON Pointer，例：/order/items/0/sku），编译结果会被缓存
+     * 编译后的路径可以重复使用，取值时流式匹配，跳过无关的分支
      */
-    public static <V> String update(String json, String key, V value) {
-        try {
-            JsonNode node = mapper.readTree(json);
-            ((ObjectNode)node).remove(key);
-            add(node, key, value);
-            return node.toString();
-        } catch (IOException e) {
-            throw new JacksonException("jackson update error, json: {}, key: {}, value: {}", json, key, value, e);
+    public static JsonPointer compilePath(String path) {
+        JsonPointer pointer = PATH_CACHE.get(path);
+        if (null == pointer) {
+            pointer = JsonPointer.compile(path);
+            if (PATH_CACHE.size() < PATH_CACHE_SIZE) {
+                PATH_CACHE.putIfAbsent(path, pointer);
+            }
         }
+        return pointer;
     }
 
     /**
-     * 格式化Json(美化)
+     * 从json串中按路径获取某个字段
+     * @return String，默认为 null
+     */
+    public static String getAsString(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return null;
+            }
+            return getAsString(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get string error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return String，默认为 null
+     */
+    public static String getAsString(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return null;
+            }
+            return getAsString(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get string error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return String，默认为 null
+     */
+    public static String getAsString(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return null;
+            }
+            return getAsString(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get string error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return int，默认为 0
+     */
+    public static int getAsInt(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0;
+            }
+            return getAsInt(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get int error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return int，默认为 0
+     */
+    public static int getAsInt(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return 0;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0;
+            }
+            return getAsInt(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get int error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return int，默认为 0
+     */
+    public static int getAsInt(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return 0;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return 0;
+            }
+            return getAsInt(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get int error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0L;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0L;
+            }
+            return getAsLong(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get long error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return 0L;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0L;
+            }
+            return getAsLong(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get long error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return long，默认为 0
+     */
+    public static long getAsLong(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return 0L;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return 0L;
+            }
+            return getAsLong(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get long error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0.0;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0.0;
+            }
+            return getAsDouble(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get double error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return 0.0;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0.0;
+            }
+            return getAsDouble(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get double error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return double，默认为 0.0
+     */
+    public static double getAsDouble(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return 0.0;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return 0.0;
+            }
+            return getAsDouble(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get double error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return BigInteger.ZERO;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return BigInteger.ZERO;
+            }
+            return getAsBigInteger(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big integer error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return BigInteger.ZERO;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return BigInteger.ZERO;
+            }
+            return getAsBigInteger(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big integer error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigInteger，默认为 0
+     */
+    public static BigInteger getAsBigInteger(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return BigInteger.ZERO;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return BigInteger.ZERO;
+            }
+            return getAsBigInteger(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big integer error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return BigDecimal，默认为 0.00
+     */
+    public static BigDecimal getAsBigDecimal(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return new BigDecimal("0.00");
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return new BigDecimal("0.00");
+            }
+            return getAsBigDecimal(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big decimal error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigDecimal，默认为 0.00
+     */
+    public static BigDecimal getAsBigDecimal(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return new BigDecimal("0.00");
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return new BigDecimal("0.00");
+            }
+            return getAsBigDecimal(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big decimal error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return BigDecimal，默认为 0.00
+     */
+    public static BigDecimal getAsBigDecimal(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return new BigDecimal("0.00");
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return new BigDecimal("0.00");
+            }
+            return getAsBigDecimal(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get big decimal error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return boolean, 默认为false
+     */
+    public static boolean getAsBoolean(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return false;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return false;
+            }
+            return getAsBoolean(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get boolean error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return boolean, 默认为false
+     */
+    public static boolean getAsBoolean(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return false;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return false;
+            }
+            return getAsBoolean(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get boolean error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return boolean, 默认为false
+     */
+    public static boolean getAsBoolean(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return false;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return false;
+            }
+            return getAsBoolean(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get boolean error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0;
+            }
+            return getAsByte(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get byte error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return 0;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return 0;
+            }
+            return getAsByte(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get byte error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return byte, 默认为 0
+     */
+    public static byte getAsByte(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return 0;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return 0;
+            }
+            return getAsByte(parser);
+        } catch (Exception e) {
+            throw new JacksonException("jackson get byte error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(String json, JsonPointer path, Class<V> type) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            return seekPath(parser, path) ? getAsObject(parser, JacksonCodecRegistry.reader(type)) : null;
+        } catch (Exception e) {
+            throw new JacksonException("jackson get object error, json: {}, path: {}, type: {}", json, path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(byte[] json, JsonPointer path, Class<V> type) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            return seekPath(parser, path) ? getAsObject(parser, JacksonCodecRegistry.reader(type)) : null;
+        } catch (Exception e) {
+            throw new JacksonException("jackson get object error, json: {}, path: {}, type: {}",
+                new String(json, StandardCharsets.UTF_8), path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return object, 默认为 null
+     */
+    public static <V> V getAsObject(InputStream inputStream, JsonPointer path, Class<V> type) {
+        if (null == inputStream) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            return seekPath(parser, path) ? getAsObject(parser, JacksonCodecRegistry.reader(type)) : null;
+        } catch (Exception e) {
+            throw new JacksonException("jackson get object error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(String json, JsonPointer path, Class<V> type) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return null;
+            }
+            return getAsObject(parser, JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type));
+        } catch (Exception e) {
+            throw new JacksonException("jackson get list error, json: {}, path: {}, type: {}", json, path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(byte[] json, JsonPointer path, Class<V> type) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            if (!seekPath(parser, path)) {
+                return null;
+            }
+            return getAsObject(parser, JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type));
+        } catch (Exception e) {
+            throw new JacksonException("jackson get list error, json: {}, path: {}, type: {}",
+                new String(json, StandardCharsets.UTF_8), path, type, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段
+     * @return list, 默认为 null
+     */
+    public static <V> List<V> getAsList(InputStream inputStream, JsonPointer path, Class<V> type) {
+        if (null == inputStream) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            if (!seekPath(parser, path)) {
+                return null;
+            }
+            return getAsObject(parser, JacksonCodecRegistry.reader(JacksonCodecRegistry.Kind.LIST, type));
+        } catch (Exception e) {
+            throw new JacksonException("jackson get list error, path: {}, type: {}", path, type, e);
+        }
+    }
+
+    /**
+     * 从json串中按路径获取某个字段，只构建目标字段的JsonNode
+     * @return JsonNode, 默认为 null
+     */
+    public static JsonNode getAsJsonObject(String json, JsonPointer path) {
+        if (StringUtils.isEmpty(json)) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            return seekPath(parser, path) ? mapper.readTree(parser) : null;
+        } catch (IOException e) {
+            throw new JacksonException("jackson get object from json error, json: {}, path: {}", json, path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段，只构建目标字段的JsonNode
+     * @return JsonNode, 默认为 null
+     */
+    public static JsonNode getAsJsonObject(byte[] json, JsonPointer path) {
+        if (null == json || json.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(json)) {
+            return seekPath(parser, path) ? mapper.readTree(parser) : null;
+        } catch (IOException e) {
+            throw new JacksonException("jackson get object from json error, json: {}, path: {}",
+                new String(json, StandardCharsets.UTF_8), path, e);
+        }
+    }
+
+    /**
+     * 从json中按路径获取某个字段，只构建目标字段的JsonNode
+     * @return JsonNode, 默认为 null
+     */
+    public static JsonNode getAsJsonObject(InputStream inputStream, JsonPointer path) {
+        if (null == inputStream) {
+            return null;
+        }
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            return seekPath(parser, path) ? mapper.readTree(parser) : null;
+        } catch (IOException e) {
+            throw new JacksonException("jackson get object from json error, path: {}", path, e);
+        }
+    }
+
+    /**
+     * 将parser定位到顶层对象中key对应的值上
+     * 流式读取，其它字段的子树直接跳过，找到key后立即返回，不构建JsonNode
+     * 与 readTree 一致，已读过的部分出现重复键时抛出异常；目标值之后的内容不再读取，
+     * 因此其后的重复键或不完整的json不会被发现，重复的key取第一个值
+     * @return 是否找到key，json不是对象时返回false
+     */
+    private static boolean seekField(JsonParser parser, String key) throws IOException {
+        parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+        return parser.nextToken() == JsonToken.START_OBJECT && seekProperty(parser, key);
+    }
+
+    /**
+     * 将parser定位到路径对应的值上，逐层匹配，无关的分支直接跳过
+     * 与 seekField 相同，只校验目标值之前读过的部分
+     * @return 是否找到路径
+     */
+    private static boolean seekPath(JsonParser parser, JsonPointer path) throws IOException {
+        parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+        JsonToken token = parser.nextToken();
+        JsonPointer pointer = path;
+        while (null != token && !pointer.matches()) {
+            if (token == JsonToken.START_OBJECT) {
+                if (!seekProperty(parser, pointer.getMatchingProperty())) {
+                    return false;
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                if (!seekElement(parser, pointer.getMatchingIndex())) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+            token = parser.currentToken();
+            pointer = pointer.tail();
+        }
+        return null != token;
+    }
+
+    /**
+     * parser位于START_OBJECT时，定位到name对应的值上
+     */
+    private static boolean seekProperty(JsonParser parser, String name) throws IOException {
+        String fieldName;
+        while ((fieldName = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if (fieldName.equals(name)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * parser位于START_ARRAY时，定位到第index个元素上
+     */
+    private static boolean seekElement(JsonParser parser, int index) throws IOException {
+        if (index < 0) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            JsonToken token = parser.nextToken();
+            if (null == token || token == JsonToken.END_ARRAY) {
+                return false;
+            }
+            if (i == index) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * 读取parser当前位置的值，对象和数组输出为紧凑的json串
+     */
+    static String getAsString(JsonParser parser) throws IOException {
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getText();
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 读取parser当前位置的值
+     */
+    static int getAsInt(JsonParser parser) throws IOException {
+        return isNumberType(parser, JsonParser.NumberType.INT) ? parser.getIntValue()
+            : Integer.parseInt(getAsString(parser));
+    }
+
+    /**
+     * 读取parser当前位置的值
+     */
+    static long getAsLong(JsonParser parser) throws IOException {
+        return isNumberType(parser, JsonParser.NumberType.INT, JsonParser.NumberType.LONG) ? parser.getLongValue()
+            : Long.parseLong(getAsString(parser));
+    }
+
+    /**
+     * 读取parser当前位置的值
+     */
+    static double getAsDouble(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT ? parser.getDoubleValue()
+            : Double.parseDouble(getAsString(parser));
+    }
+
+    /**
+     * 读取parser当前位置的值
+     */
+    static BigInteger getAsBigInteger(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getBigIntegerValue()
+            : new BigInteger(getAsString(parser));
+    }
+
+    /**
+     * 读取parser当前位置的值
+     */
+    static BigDecimal getAsBigDecimal(JsonParser parser) throws IOException {
+        return parser.currentToken().isNumeric() ? parser.getDecimalValue() : new BigDecimal(getAsString(parser));
+    }
+
+    /**
+     * 读取parser当前位置的值，兼容 "true"、"1"、数字等写法
+     */
+    static boolean getAsBoolean(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isBoolean()) {
+            return parser.getBooleanValue();
+        } else {
+            if (token == JsonToken.VALUE_STRING) {
+                String textValue = parser.getText();
+                if ("1".equals(textValue)) {
+                    return true;
+                } else {
+                    return BooleanUtils.toBoolean(textValue);
+                }
+            } else if (token.isNumeric()) {
+                return BooleanUtils.toBoolean(parser.getIntValue());
+            } else {//null, object, array
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 读取parser当前位置的值
+     */
+    static byte getAsByte(JsonParser parser) throws IOException {
+        return isNumberType(parser, JsonParser.NumberType.INT) ? (byte)parser.getIntValue()
+            : Byte.parseByte(getAsString(parser));
+    }
+
+    /**
+     * 判断parser当前位置是否为指定类型的整数
+     */
+    private static boolean isNumberType(JsonParser parser, JsonParser.NumberType... numberTypes) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            return false;
+        }
+        JsonParser.NumberType numberType = parser.getNumberType();
+        for (JsonParser.NumberType type : numberTypes) {
+            if (type == numberType) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 向json中添加属性，属性已存在时替换
+     * 需要修改多个属性时使用 {@link JacksonPatch}，只读写一遍
+     * @return json
+     */
+    public static <V> String add(String json, String key, V value) {
+        return add(json, key, value, false);
+    }
+
+    /**
+     * 向json中添加属性，属性已存在时替换
+     * @param nested 为 true 时对象、集合等按json结构写入，为 false 时写入序列化后的json串
+     */
+    public static <V> String add(String json, String key, V value, boolean nested) {
+        try {
+            return rewrite(json, key, value, false, nested);
+        } catch (IOException e) {
+            throw new JacksonException("jackson add error, json: {}, key: {}, value: {}", json, key, value, e);
+        }
+    }
+
+    /**
+     * 除去json中的某个属性
+     * @return json
+     */
+    public static String remove(String json, String key) {
+        try {
+            return rewrite(json, key, null, true, false);
+        } catch (IOException e) {
+            throw new JacksonException("jackson remove error, json: {}, key: {}", json, key, e);
+        }
+    }
+
+    /**
+     * 修改json中的属性，属性位置不变，属性不存在时添加到末尾
+     */
+    public static <V> String update(String json, String key, V value) {
+        return update(json, key, value, false);
+    }
+
+    /**
+     * 修改json中的属性，属性位置不变，属性不存在时添加到末尾
+     * @param nested 为 true 时对象、集合等按json结构写入，为 false 时写入序列化后的json串
+     */
+    public static <V> String update(String json, String key, V value, boolean nested) {
+        try {
+            return rewrite(json, key, value, false, nested);
+        } catch (IOException e) {
+            throw new JacksonException("jackson update error, json: {}, key: {}, value: {}", json, key, value, e);
+        }
+    }
+
+    /**
+     * 流式改写json的顶层属性，不构建整棵树
+     * 其他属性通过 copyCurrentStructure 原样复制，目标属性在原位置替换或删除，不存在时添加到末尾
+     */
+    private static <V> String rewrite(String json, String key, V value, boolean remove,
+        boolean nested) throws IOException {
+        StringWriter writer = new StringWriter(json.length() + 16);
+        try (JsonParser parser = mapper.createParser(json);
+             JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            //与 readTree 一致，禁止重复键
+            parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JacksonException("json is not an object, json: {}", json);
+            }
+            generator.writeStartObject();
+            boolean found = false;
+            String fieldName;
+            while ((fieldName = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                if (!found && fieldName.equals(key)) {
+                    found = true;
+                    parser.skipChildren();
+                    if (!remove) {
+                        generator.writeFieldName(fieldName);
+                        writeValue(generator, value, nested);
+                    }
+                } else {
+                    generator.writeFieldName(fieldName);
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            if (!found && !remove) {
+                generator.writeFieldName(key);
+                writeValue(generator, value, nested);
+            }
+            generator.writeEndObject();
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 写入属性值，字符串、数值、布尔、二进制按原类型写入，其他类型写入序列化后的json串
+     * nested 为 true 时直接序列化到输出中，对象、集合等作为json结构写入，不需要再次转义
+     */
+    private static <V> void writeValue(JsonGenerator generator, V value, boolean nested) throws IOException {
+        if (nested) {
+            JacksonCodecRegistry.writer(value).writeValue(generator, value);
+        } else if (value instanceof String) {
+            generator.writeString((String)value);
+        } else if (value instanceof Short) {
+            generator.writeNumber((Short)value);
+        } else if (value instanceof Integer) {
+            generator.writeNumber((Integer)value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long)value);
+        } else if (value instanceof Float) {
+            generator.writeNumber((Float)value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double)value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal)value);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger)value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean)value);
+        } else if (value instanceof byte[]) {
+            generator.writeBinary((byte[])value);
+        } else {
+            generator.writeString(to(value));
+        }
+    }
+
+    /**
+     * 格式化Json(美化)
      * @return json
      */
     public static String format(String json) {
@@ -716,16 +1945,144 @@ public class JacksonUtil {
     }
 
     /**
-     * 判断字符串是否是json
+     * 判断json顶层值的类型，只读取第一个有效字符，不校验之后的内容
+     */
+    public static JsonType detect(String json) {
+        return JsonType.detect(json);
+    }
+
+    /**
+     * 判断json顶层值的类型
+     * @param validate true 时完整扫描校验，不合法时返回 INVALID
+     */
+    public static JsonType detect(String json, boolean validate) {
+        if (!validate) {
+            return JsonType.detect(json);
+        }
+        return isJson(json) ? detectValid(JsonType.detect(json)) : JsonType.INVALID;
+    }
+
+    /**
+     * 判断UTF-8编码json顶层值的类型，只读取第一个有效字节，不校验之后的内容
+     */
+    public static JsonType detect(byte[] json) {
+        return JsonType.detect(json);
+    }
+
+    /**
+     * 判断UTF-8编码json顶层值的类型
+     * @param validate true 时完整扫描校验，不合法时返回 INVALID
+     */
+    public static JsonType detect(byte[] json, boolean validate) {
+        if (!validate) {
+            return JsonType.detect(json);
+        }
+        return isJson(json) ? detectValid(JsonType.detect(json)) : JsonType.INVALID;
+    }
+
+    /**
+     * 已校验为合法的json，不是对象和数组时即为标量
+     */
+    private static JsonType detectValid(JsonType type) {
+        return type == JsonType.OBJECT || type == JsonType.ARRAY ? type : JsonType.SCALAR;
+    }
+
+    /**
+     * 判断字符串是否是json，逐个token扫描，不构建JsonNode
      * @return json
      */
     public static boolean isJson(String json) {
-        try {
-            mapper.readTree(json);
-            return true;
-        } catch (Exception e) {
-            return false;
+        return getJsonErrorOffset(json) < 0;
+    }
+
+    /**
+     * 判断UTF-8编码的字节是否是json，逐个token扫描，不构建JsonNode
+     */
+    public static boolean isJson(byte[] json) {
+        return getJsonErrorOffset(json) < 0;
+    }
+
+    /**
+     * 判断输入流是否是json，逐个token扫描，不构建JsonNode，读取完成后关闭 inputStream
+     */
+    public static boolean isJson(InputStream inputStream) {
+        return getJsonErrorOffset(inputStream) < 0;
+    }
+
+    /**
+     * 校验json，逐个token扫描，不构建JsonNode
+     * @return 出错时解析器所在的字符偏移（不合法的字符之后），合法时返回 -1
+     */
+    public static long getJsonErrorOffset(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return 0;
         }
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            return scan(parser);
+        } catch (JsonProcessingException e) {
+            return getErrorOffset(e);
+        } catch (IOException e) {
+            throw new JacksonException("jackson validate error, json: {}", json, e);
+        }
+    }
+
+    /**
+     * 校验UTF-8编码的json，逐个token扫描，不构建JsonNode
+     * @return 出错时解析器所在的字节偏移（不合法的字符之后），合法时返回 -1
+     */
+    public static long getJsonErrorOffset(byte[] json) {
+        if (null == json || json.length == 0) {
+            return 0;
+        }
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            return scan(parser);
+        } catch (JsonProcessingException e) {
+            return getErrorOffset(e);
+        } catch (IOException e) {
+            throw new JacksonException("jackson validate error, json length: {}", json.length, e);
+        }
+    }
+
+    /**
+     * 校验输入流中的json，逐个token扫描，不构建JsonNode，读取完成后关闭 inputStream
+     * 读取输入流出错时抛出异常，不视为json不合法
+     * @return 出错时解析器所在的字节偏移（不合法的字符之后），合法时返回 -1
+     */
+    public static long getJsonErrorOffset(InputStream inputStream) {
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            return scan(parser);
+        } catch (JsonProcessingException e) {
+            return getErrorOffset(e);
+        } catch (IOException e) {
+            throw new JacksonException("jackson validate error", e);
+        }
+    }
+
+    /**
+     * 扫描到输入结尾，值和子结构通过 skipChildren 跳过，字符串内容不解码
+     * 与 readTree 一致，重复的字段名视为不合法；顶层只能有一个值
+     */
+    private static long scan(JsonParser parser) throws IOException {
+        parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+        if (parser.nextToken() == null) {
+            return 0;
+        }
+        parser.skipChildren();
+        if (parser.nextToken() != null) {
+            return getOffset(parser.getTokenLocation());
+        }
+        return -1;
+    }
+
+    private static long getErrorOffset(JsonProcessingException e) {
+        return null == e.getLocation() ? 0 : getOffset(e.getLocation());
+    }
+
+    /**
+     * 字符输入只有字符偏移，字节输入只有字节偏移，另一个为 -1
+     */
+    private static long getOffset(JsonLocation location) {
+        return Math.max(0, Math.max(location.getCharOffset(), location.getByteOffset()));
     }
 
 }
@@ -1,8 +1,12 @@
 package com.dxy.library.json.jackson.exception;
 
 import com.dxy.library.exception.FormativeException;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 
 /**
+ * 出错位置取自 cause 中的 JsonProcessingException
  * @author duanxinyuan
  * 2019/4/10 22:35
  */
@@ -21,5 +25,27 @@ public class JacksonException extends FormativeException {
 
     public JacksonException(String format, Object... arguments) {
         super(format, arguments);
+        if (getTargetType() == null && arguments != null) {
+            for (Object argument : arguments) {
+                if (argument instanceof TypeReference) {
+                    setTargetType(((TypeReference<?>)argument).getType());
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void initLocation() {
+        for (Throwable cause = getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException) {
+                JsonLocation location = ((JsonProcessingException)cause).getLocation();
+                if (location != null) {
+                    long offset = location.getCharOffset() >= 0 ? location.getCharOffset() : location.getByteOffset();
+                    setLocation(offset, location.getLineNr(), location.getColumnNr());
+                    return;
+                }
+            }
+        }
     }
 }
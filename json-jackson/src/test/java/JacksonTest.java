@@ -1,16 +1,57 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.dxy.library.exception.FormativeException;
+import com.dxy.library.json.common.JsonType;
+import com.dxy.library.json.common.ParseResultCache;
+import com.dxy.library.json.common.StringCanonicalizer;
+import com.dxy.library.json.jackson.JacksonAppender;
+import com.dxy.library.json.jackson.JacksonAsyncDecoder;
+import com.dxy.library.json.jackson.JacksonDocument;
+import com.dxy.library.json.jackson.JacksonFields;
+import com.dxy.library.json.jackson.JacksonIterator;
+import com.dxy.library.json.jackson.JacksonParallelReader;
+import com.dxy.library.json.jackson.JacksonPatch;
+import com.dxy.library.json.jackson.JacksonPublisher;
+import com.dxy.library.json.jackson.JacksonRecyclerPool;
+import com.dxy.library.json.jackson.JacksonSubscriber;
 import com.dxy.library.json.jackson.JacksonUtil;
+import com.dxy.library.json.jackson.exception.JacksonException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.BufferRecyclers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Assert;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 /**
  * @author duanxinyuan
@@ -139,6 +180,314 @@ public class JacksonTest {
         Assert.assertEquals(1, JacksonUtil.getAsByte(json, "isSuccess1"));
     }
 
+    /**
+     * 测试流式读取字段
+     */
+    @Test
+    public void testGetStreaming() {
+        String json = "{\"skip\":{\"a\":[1,{\"key\":\"nested\"}]},\"key\":\"top\",\"obj\":{\"b\":[1,2]},\"n\":null}";
+        Assert.assertEquals("top", JacksonUtil.getAsString(json, "key"));
+        Assert.assertEquals("{\"b\":[1,2]}", JacksonUtil.getAsString(json, "obj"));
+        Assert.assertEquals("null", JacksonUtil.getAsString(json, "n"));
+        Assert.assertNull(JacksonUtil.getAsString(json, "missing"));
+        Assert.assertEquals(0, JacksonUtil.getAsInt(json, "missing"));
+        Assert.assertFalse(JacksonUtil.getAsBoolean(json, "n"));
+        Assert.assertEquals("[1,2]", JacksonUtil.getAsJsonObject(json, "obj").get("b").toString());
+        Assert.assertNull(JacksonUtil.getAsString("[{\"key\":1}]", "key"));
+        //找到key后不再读取后续内容
+        Assert.assertEquals(1, JacksonUtil.getAsInt("{\"key\":1,\"broken\":", "key"));
+        //与 readTree 一致，key之前出现重复键时抛出异常；key之后的重复键不再读取，取第一个值
+        Assert.assertThrows(JacksonException.class, () -> JacksonUtil.getAsInt("{\"a\":1,\"a\":2,\"key\":3}", "key"));
+        Assert.assertThrows(JacksonException.class, () -> JacksonUtil.getAsInt("{\"a\":1,\"a\":2}", "missing"));
+        Assert.assertEquals(1, JacksonUtil.getAsInt("{\"key\":1,\"key\":2}", "key"));
+        Assert.assertThrows(JacksonException.class,
+            () -> JacksonUtil.getAsInt("{\"a\":1,\"a\":2,\"o\":{\"k\":3}}", JacksonUtil.compilePath("/o/k")));
+    }
+
+    /**
+     * 测试一次解析获取多个字段
+     */
+    @Test
+    public void testGetFields() {
+        String json = "{\"code\":\"200\",\"id\":2001215464647687987,\"skip\":{\"a\":[1,2]},\"isSuccess\":\"1\","
+            + "\"trait\":[\"淡然\",\"温和\"]}";
+        JacksonFields fields = JacksonUtil.getAsFields(json, "code", "id", "isSuccess", "trait", "missing");
+        Assert.assertEquals(200, fields.getAsInt("code"));
+        Assert.assertEquals("200", fields.getAsString("code"));
+        Assert.assertEquals(2001215464647687987L, fields.getAsLong("id"));
+        Assert.assertTrue(fields.getAsBoolean("isSuccess"));
+        Assert.assertEquals(Arrays.asList("淡然", "温和"), fields.getAsList("trait", String.class));
+        Assert.assertFalse(fields.contains("missing"));
+        Assert.assertNull(fields.getAsString("missing"));
+        Assert.assertEquals(0, fields.getAsInt("missing"));
+        Assert.assertEquals(0L, fields.getAsLong("missing"));
+        Assert.assertFalse(fields.getAsBoolean("missing"));
+        Assert.assertEquals(BigInteger.ZERO, fields.getAsBigInteger("missing"));
+        Assert.assertEquals(new BigDecimal("0.00"), fields.getAsBigDecimal("missing"));
+    }
+
+    /**
+     * 测试按路径获取字段
+     */
+    @Test
+    public void testGetPath() {
+        String json = "{\"skip\":{\"sku\":\"x\"},\"order\":{\"items\":[{\"sku\":\"a\"},{\"sku\":\"b\",\"num\":\"3\"}],"
+            + "\"a/b\":true},\"tail\":";
+        Assert.assertEquals("b", JacksonUtil.getAsString(json, JacksonUtil.compilePath("/order/items/1/sku")));
+        Assert.assertEquals(3, JacksonUtil.getAsInt(json, JacksonUtil.compilePath("/order/items/1/num")));
+        Assert.assertTrue(JacksonUtil.getAsBoolean(json, JacksonUtil.compilePath("/order/a~1b")));
+        Assert.assertNull(JacksonUtil.getAsString(json, JacksonUtil.compilePath("/order/items/2/sku")));
+        Assert.assertEquals(0, JacksonUtil.getAsInt(json, JacksonUtil.compilePath("/order/items/2/sku")));
+        JsonNode item = JacksonUtil.getAsJsonObject(json, JacksonUtil.compilePath("/order/items/0"));
+        Assert.assertEquals("a", item.get("sku").asText());
+        Assert.assertSame(JacksonUtil.compilePath("/order/items/1"), JacksonUtil.compilePath("/order/items/1"));
+        //byte[] 和 InputStream 与 String 的取值一致
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(3L, JacksonUtil.getAsLong(bytes, JacksonUtil.compilePath("/order/items/1/num")));
+        Assert.assertEquals(3, JacksonUtil.getAsInt(new ByteArrayInputStream(bytes),
+            JacksonUtil.compilePath("/order/items/1/num")));
+        Assert.assertEquals(3.0, JacksonUtil.getAsDouble(bytes, JacksonUtil.compilePath("/order/items/1/num")), 0);
+        Assert.assertTrue(JacksonUtil.getAsBoolean(new ByteArrayInputStream(bytes),
+            JacksonUtil.compilePath("/order/a~1b")));
+        Assert.assertEquals(0, JacksonUtil.getAsByte(bytes, JacksonUtil.compilePath("/order/items/2/sku")));
+    }
+
+    /**
+     * 测试字段直接反序列化为对象
+     */
+    @Test
+    public void testGetObject() {
+        Person person = Person.newPerson();
+        String personJson = JacksonUtil.to(person);
+        String json = "{\"skip\":[1,2],\"person\":" + personJson + ",\"encoded\":" + JacksonUtil.to(personJson)
+            + ",\"persons\":[" + personJson + "],\"n\":null}";
+        Assert.assertEquals(personJson, JacksonUtil.to(JacksonUtil.getAsObject(json, "person", Person.class)));
+        Assert.assertEquals(personJson, JacksonUtil.to(JacksonUtil.getAsObject(json, "encoded", Person.class)));
+        Assert.assertEquals(personJson, JacksonUtil.to(JacksonUtil.getAsList(json, "persons", Person.class).get(0)));
+        Assert.assertEquals(personJson, JacksonUtil.to(JacksonUtil.getAsObject(json, JacksonUtil.compilePath("/persons/0"), Person.class)));
+        Assert.assertNull(JacksonUtil.getAsObject(json, "n", Person.class));
+        Assert.assertNull(JacksonUtil.getAsObject(json, "missing", Person.class));
+    }
+
+    /**
+     * 测试按类型缓存的ObjectReader/ObjectWriter
+     */
+    @Test
+    public void testCodecCache() {
+        String json = "{\"a\":[1,2,2]}";
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("{a=[1, 2]}", JacksonUtil.fromSetMap(json, String.class, Integer.class).toString());
+            Assert.assertEquals("{a=[1, 2, 2]}", JacksonUtil.fromListMap(json, String.class, Integer.class).toString());
+            Assert.assertEquals(json, JacksonUtil.to(JacksonUtil.fromListMap(json, String.class, Integer.class)));
+            Assert.assertEquals("a", JacksonUtil.from("{\"name\":\"a\"}", Person.class).getName());
+            Assert.assertEquals("null", JacksonUtil.to(null));
+            JacksonUtil.clearCodecCache();
+        }
+    }
+
+    /**
+     * 测试逐条读取顶层数组和 NDJSON
+     */
+    @Test
+    public void testIterate() {
+        String array = "[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}]";
+        String lines = "{\"name\":\"a\"}\n{\"name\":\"b\"}\n\n{\"name\":\"c\"}\n";
+        for (String json : Arrays.asList(array, lines)) {
+            List<String> names = new ArrayList<>();
+            try (JacksonIterator<Person> iterator = JacksonUtil.iterate(toStream(json), Person.class)) {
+                iterator.forEachRemaining(person -> names.add(person.getName()));
+            }
+            Assert.assertEquals(Arrays.asList("a", "b", "c"), names);
+            try (Stream<Person> stream = JacksonUtil.stream(toStream(json), Person.class)) {
+                Assert.assertEquals(Arrays.asList("a", "b"),
+                    stream.limit(2).map(Person::getName).collect(Collectors.toList()));
+            }
+        }
+        Assert.assertFalse(JacksonUtil.iterate(toStream(""), Person.class).hasNext());
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 测试JSON Lines追加写入
+     */
+    @Test
+    public void testAppender() throws IOException {
+        File file = File.createTempFile("appender", ".jsonl");
+        file.deleteOnExit();
+        try (JacksonAppender appender = new JacksonAppender(file.getPath(), 64, 0, false)) {
+            for (int i = 0; i < 100; i++) {
+                appender.append(Person.newPerson());
+            }
+            appender.appendAll(Arrays.asList(Person.newPerson(), Person.newPerson()));
+            appender.force();
+            Assert.assertEquals(102, Files.readAllLines(file.toPath()).size());
+            appender.append(Person.newPerson());
+        }
+        List<String> lines = Files.readAllLines(file.toPath());
+        Assert.assertEquals(103, lines.size());
+        Assert.assertEquals(JacksonUtil.to(Person.newPerson()), lines.get(102));
+
+        //序列化到一半失败时丢弃整条记录，不影响之后的记录
+        File failFile = File.createTempFile("appender", ".jsonl");
+        failFile.deleteOnExit();
+        List<Integer> failing = new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                if (index == 1) {
+                    throw new IllegalStateException("broken");
+                }
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        };
+        try (JacksonAppender appender = new JacksonAppender(failFile.getPath(), 64, 0, true)) {
+            appender.append(Collections.singletonMap("x", 7));
+            try {
+                appender.append(Collections.singletonMap("y", failing));
+                Assert.fail();
+            } catch (JacksonException e) {
+                Assert.assertNotNull(e.getCause());
+            }
+            appender.append(Collections.singletonMap("z", 8));
+        }
+        Assert.assertEquals(Arrays.asList("{\"x\":7}", "{\"z\":8}"), Files.readAllLines(failFile.toPath()));
+
+        //超过1MB的记录写完后暂存区缩回，之后的记录不受影响
+        File largeFile = File.createTempFile("appender", ".jsonl");
+        largeFile.deleteOnExit();
+        String large = new String(new char[2 * 1024 * 1024]).replace('\0', 'x');
+        try (JacksonAppender appender = new JacksonAppender(largeFile.getPath())) {
+            appender.append(Collections.singletonMap("large", large));
+            appender.append(Collections.singletonMap("a", 1));
+            appender.append(Collections.singletonMap("b", 2));
+        }
+        List<String> largeLines = Files.readAllLines(largeFile.toPath());
+        Assert.assertEquals(3, largeLines.size());
+        Assert.assertEquals("{\"large\":\"" + large + "\"}", largeLines.get(0));
+        Assert.assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":2}"), largeLines.subList(1, 3));
+    }
+
+    /**
+     * 测试多线程分块解码 NDJSON
+     */
+    @Test
+    public void testParallelReader() throws IOException {
+        File file = File.createTempFile("parallel", ".jsonl");
+        file.deleteOnExit();
+        List<Integer> ages = new ArrayList<>();
+        try (JacksonAppender appender = new JacksonAppender(file.getPath())) {
+            for (int i = 0; i < 5000; i++) {
+                Person person = Person.newPerson();
+                person.setAge(i);
+                appender.append(person);
+                ages.add(i);
+            }
+        }
+        JacksonParallelReader<Person> reader = new JacksonParallelReader<>(file, Person.class, 4096,
+            ForkJoinPool.commonPool());
+        Assert.assertEquals(ages, reader.toList().stream().map(Person::getAge).collect(Collectors.toList()));
+        AtomicLong sum = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            new JacksonParallelReader<>(file, Person.class, 4096, executor).forEach(p -> sum.addAndGet(p.getAge()));
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(ages.stream().mapToLong(Integer::longValue).sum(), sum.get());
+
+        //首个分块失败时取消其余分块，直接抛出分块的异常
+        File broken = File.createTempFile("parallel", ".jsonl");
+        broken.deleteOnExit();
+        Files.write(broken.toPath(), ("{bad\n" + new String(Files.readAllBytes(file.toPath()),
+            StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8));
+        AtomicLong count = new AtomicLong();
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            new JacksonParallelReader<>(broken, Person.class, 4096, single).forEach(p -> count.incrementAndGet());
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().endsWith("offset: 0"));
+            Assert.assertTrue(count.get() < ages.size());
+        } finally {
+            single.shutdown();
+        }
+        try {
+            new JacksonParallelReader<>(broken, Person.class, 4096, ForkJoinPool.commonPool()).toList();
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().endsWith("offset: 0"));
+        }
+    }
+
+    /**
+     * 测试异常消息截断超长参数
+     */
+    @Test
+    public void testExceptionMessage() {
+        StringBuilder json = new StringBuilder("{\"name\":\"");
+        for (int i = 0; i < 100000; i++) {
+            json.append('a');
+        }
+        try {
+            JacksonUtil.from(json.toString(), Person.class);
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertTrue(e.getMessage().contains("...(100009 chars)"));
+            Assert.assertTrue(e.getMessage().length() < 20000);
+        }
+    }
+
+    /**
+     * 测试多个线程同时获取同一个异常的消息
+     */
+    @Test
+    public void testExceptionMessageConcurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 200; round++) {
+                JacksonException exception = new JacksonException("jackson error, name: {}, values: {}", "x",
+                    Arrays.asList(1, 2, 3));
+                List<Future<String>> futures = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    futures.add(executor.submit(exception::getMessage));
+                }
+                for (Future<String> future : futures) {
+                    Assert.assertEquals("jackson error, name: x, values: [1, 2, 3]", future.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 测试不采集堆栈的异常及结构化的出错位置
+     */
+    @Test
+    public void testStacklessException() {
+        FormativeException.setStackless(true);
+        try {
+            JacksonUtil.from("{\"name\":}", Person.class);
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertEquals(0, e.getStackTrace().length);
+            Assert.assertNotNull(e.getCause());
+            Assert.assertFalse(e.getMessage().contains("\tat "));
+            Assert.assertEquals(Person.class, e.getTargetType());
+            Assert.assertEquals(1, e.getLine());
+            Assert.assertTrue(e.getColumn() > 0);
+        } finally {
+            FormativeException.setStackless(false);
+        }
+    }
+
     @Test
     public void testWrite() {
         Person person = Person.newPerson();
@@ -146,4 +495,535 @@ public class JacksonTest {
         JacksonUtil.toFile(this.getClass().getClassLoader().getResource("testwrite.json").getPath(), person);
     }
 
+    /**
+     * 测试流式改写json属性，属性位置不变
+     */
+    @Test
+    public void testRewrite() {
+        String json = "{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}";
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":\"y\"}",
+            JacksonUtil.add(json, "e", "y"));
+        Assert.assertEquals("{\"a\":1,\"b\":2,\"d\":\"x\"}", JacksonUtil.update(json, "b", 2));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]}}", JacksonUtil.remove(json, "d"));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}", JacksonUtil.remove(json, "e"));
+
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("f", Arrays.asList(1, 2));
+        nested.put("g", true);
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":\"{\\\"f\\\":[1,2],\\\"g\\\":true}\"}",
+            JacksonUtil.add(json, "e", nested));
+        Assert.assertEquals("{\"a\":1,\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\",\"e\":{\"f\":[1,2],\"g\":true}}",
+            JacksonUtil.add(json, "e", nested, true));
+        Assert.assertEquals("{\"a\":{\"f\":[1,2],\"g\":true},\"b\":{\"c\":[1,2.5,null,true]},\"d\":\"x\"}",
+            JacksonUtil.update(json, "a", nested, true));
+        try {
+            JacksonUtil.add("{\"a\":", "b", 1);
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
+
+    /**
+     * 测试批量修改json
+     */
+    @Test
+    public void testPatch() {
+        String json = "{\"x\":0,\"order\":{\"items\":[{\"sku\":\"a\"},{\"sku\":\"b\"}],\"id\":1},\"z\":\"z\"}";
+        JacksonPatch patch = new JacksonPatch().remove("/x")
+            .add("/order/items/-", Collections.singletonMap("sku", "c"))
+            .add("/order/items/0", Collections.singletonMap("sku", "0"))
+            .replace("/order/items/1/sku", "B")
+            .add("/order/a~1b", Arrays.asList(1, 2))
+            .replace("/z", 3);
+        String expected = "{\"order\":{\"items\":[{\"sku\":\"0\"},{\"sku\":\"a\"},{\"sku\":\"B\"},{\"sku\":\"c\"}],"
+            + "\"id\":1,\"a/b\":[1,2]},\"z\":3}";
+        Assert.assertEquals(expected, patch.apply(json));
+        Assert.assertEquals(expected, new String(patch.apply(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        patch.apply(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), outputStream);
+        Assert.assertEquals(expected, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+
+        JacksonPatch jsonPatch = JacksonPatch.fromJsonPatch("[{\"op\":\"remove\",\"path\":\"/x\"},"
+            + "{\"op\":\"add\",\"path\":\"/order/tags\",\"value\":[\"t\"]},"
+            + "{\"op\":\"replace\",\"path\":\"/order/id\",\"value\":{\"v\":2}}]");
+        Assert.assertEquals("{\"order\":{\"items\":[{\"sku\":\"a\"},{\"sku\":\"b\"}],\"id\":{\"v\":2},\"tags\":[\"t\"]},"
+            + "\"z\":\"z\"}", jsonPatch.apply(json));
+
+        JacksonPatch mergePatch = JacksonPatch.fromMergePatch("{\"x\":null,\"order\":{\"id\":2,\"m\":{\"n\":1,\"o\":null}},"
+            + "\"z\":{\"k\":null}}");
+        Assert.assertEquals("{\"order\":{\"items\":[{\"sku\":\"a\"},{\"sku\":\"b\"}],\"id\":2,\"m\":{\"n\":1}},"
+            + "\"z\":{}}", mergePatch.apply(json));
+
+        try {
+            new JacksonPatch().replace("/missing", 1).apply(json);
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertTrue(e.getMessage().contains("/missing"));
+        }
+        try {
+            new JacksonPatch().remove("/order").add("/order/id", 1);
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertTrue(e.getMessage().contains("conflict"));
+        }
+
+        //RFC 6902 依次应用，插入、删除之前的下标或先修改后插入、删除时结果与规范一致
+        String array = "{\"a\":[10,20,30,40]}";
+        Assert.assertEquals("{\"a\":[10,20,99,40]}", JacksonPatch.fromJsonPatch("["
+            + "{\"op\":\"replace\",\"path\":\"/a/2\",\"value\":99},{\"op\":\"remove\",\"path\":\"/a/3\"},"
+            + "{\"op\":\"add\",\"path\":\"/a/-\",\"value\":40}]").apply(array));
+        Assert.assertEquals("{\"a\":[10,99,30]}", JacksonPatch.fromJsonPatch("[{\"op\":\"remove\",\"path\":\"/a/3\"},"
+            + "{\"op\":\"replace\",\"path\":\"/a/1\",\"value\":99}]").apply(array));
+        //插入、删除后再使用偏移后的下标时抛出异常，不返回与规范不同的结果
+        String[] shifted = {
+            "[{\"op\":\"remove\",\"path\":\"/a/0\"},{\"op\":\"replace\",\"path\":\"/a/1\",\"value\":99}]",
+            "[{\"op\":\"add\",\"path\":\"/a/0\",\"value\":1},{\"op\":\"add\",\"path\":\"/a/1\",\"value\":2}]",
+            "[{\"op\":\"add\",\"path\":\"/a/1\",\"value\":1},{\"op\":\"remove\",\"path\":\"/a/3\"}]"
+        };
+        for (String operations : shifted) {
+            try {
+                JacksonPatch.fromJsonPatch(operations).apply(array);
+                Assert.fail(operations);
+            } catch (JacksonException e) {
+                Assert.assertTrue(e.getMessage().contains("shifted"));
+            }
+        }
+        //对象中数字形式的属性名不受影响
+        Assert.assertEquals("{\"o\":{\"1\":2,\"0\":1}}", JacksonPatch.fromJsonPatch("["
+            + "{\"op\":\"add\",\"path\":\"/o/0\",\"value\":1},{\"op\":\"add\",\"path\":\"/o/1\",\"value\":2}]")
+            .apply("{\"o\":{\"1\":1}}"));
+
+        //RFC 7396：空对象补丁把非对象的目标替换为空对象，对象目标保持不变
+        JacksonPatch emptyMerge = JacksonPatch.fromMergePatch("{\"a\":{}}");
+        Assert.assertEquals("{\"a\":{}}", emptyMerge.apply("{\"a\":5}"));
+        Assert.assertEquals("{\"a\":{}}", emptyMerge.apply("{\"a\":[1]}"));
+        Assert.assertEquals("{\"a\":{\"b\":1}}", emptyMerge.apply("{\"a\":{\"b\":1}}"));
+        Assert.assertEquals("{\"a\":{}}", emptyMerge.apply("{}"));
+        Assert.assertEquals("{}", JacksonPatch.fromMergePatch("{}").apply("[1]"));
+        Assert.assertEquals("{\"a\":{\"c\":{}}}", JacksonPatch.fromMergePatch("{\"a\":{\"b\":null,\"c\":{}}}")
+            .apply("{\"a\":1}"));
+    }
+
+    /**
+     * 测试字节数组、ByteBuffer 的反序列化和序列化
+     */
+    @Test
+    public void testBytes() {
+        Person person = Person.newPerson();
+        byte[] bytes = JacksonUtil.toBytes(person);
+        Assert.assertEquals(JacksonUtil.to(person), new String(bytes, StandardCharsets.UTF_8));
+        Assert.assertEquals(JacksonUtil.to(person), JacksonUtil.to(JacksonUtil.from(bytes, Person.class)));
+
+        byte[] framed = new byte[bytes.length + 8];
+        System.arraycopy(bytes, 0, framed, 4, bytes.length);
+        Person framedPerson = JacksonUtil.from(framed, 4, bytes.length, Person.class);
+        Assert.assertEquals(JacksonUtil.to(person), JacksonUtil.to(framedPerson));
+        //范围超出数组时直接抛出，不交给解析器
+        Assert.assertThrows(IndexOutOfBoundsException.class,
+            () -> JacksonUtil.from(framed, 9, bytes.length, Person.class));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> JacksonUtil.from(framed, -1, 2, Person.class));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> JacksonUtil.from(framed, 0, -1, Person.class));
+        Assert.assertNull(JacksonUtil.from(framed, framed.length, 0, Person.class));
+
+        ByteBuffer heap = ByteBuffer.wrap(framed, 4, bytes.length);
+        Assert.assertEquals(JacksonUtil.to(person), JacksonUtil.to(JacksonUtil.from(heap, Person.class)));
+        Assert.assertEquals(4, heap.position());
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        Assert.assertEquals(JacksonUtil.to(person), JacksonUtil.to(JacksonUtil.from(direct, Person.class)));
+        Assert.assertEquals(0, direct.position());
+
+        List<Person> persons = JacksonUtil.fromList(JacksonUtil.toBytes(Arrays.asList(person, person)), Person.class);
+        Assert.assertEquals(2, persons.size());
+        Assert.assertNull(JacksonUtil.from(new byte[0], Person.class));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JacksonUtil.writeTo(outputStream, person);
+        JacksonUtil.writeTo(outputStream, person);
+        Assert.assertEquals(JacksonUtil.to(person) + JacksonUtil.to(person),
+            new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 测试分块喂入的非阻塞反序列化
+     */
+    @Test
+    public void testAsyncDecoder() throws IOException {
+        Person person = Person.newPerson();
+        byte[] array = JacksonUtil.toBytes(Arrays.asList(person, person, person));
+        List<Person> persons = new ArrayList<>();
+        try (JacksonAsyncDecoder<Person> decoder = new JacksonAsyncDecoder<>(Person.class, persons::add)) {
+            for (int offset = 0; offset < array.length; offset += 7) {
+                decoder.feed(array, offset, Math.min(7, array.length - offset));
+            }
+            Assert.assertEquals(3, persons.size());
+            decoder.end();
+        }
+        Assert.assertEquals(JacksonUtil.to(person), JacksonUtil.to(persons.get(2)));
+
+        byte[] lines = (JacksonUtil.to(person) + "\n" + JacksonUtil.to(person) + "\n").getBytes(StandardCharsets.UTF_8);
+        List<Person> linePersons = new ArrayList<>();
+        JacksonAsyncDecoder<Person> lineDecoder = new JacksonAsyncDecoder<>(Person.class, linePersons::add);
+        ByteBuffer direct = ByteBuffer.allocateDirect(lines.length);
+        direct.put(lines).flip();
+        direct.limit(lines.length / 2 + 3);
+        lineDecoder.feed(direct);
+        Assert.assertEquals(direct.limit(), direct.position());
+        Assert.assertEquals(1, linePersons.size());
+        direct.limit(lines.length);
+        lineDecoder.feed(direct);
+        lineDecoder.end();
+        Assert.assertEquals(2, linePersons.size());
+
+        List<List<Integer>> lists = new ArrayList<>();
+        JacksonAsyncDecoder<List<Integer>> listDecoder = new JacksonAsyncDecoder<>(new TypeReference<List<Integer>>() {
+        }, lists::add);
+        listDecoder.feed("[1,2][3]".getBytes(StandardCharsets.UTF_8));
+        listDecoder.end();
+        Assert.assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), lists);
+
+        //小数不经过 double，精度与 JacksonUtil.from 一致
+        String amounts = "{\"amount\":12345678901234567.891}\n{\"amount\":-1.10E-30}";
+        List<Map<String, BigDecimal>> decimals = new ArrayList<>();
+        JacksonAsyncDecoder<Map<String, BigDecimal>> decimalDecoder = new JacksonAsyncDecoder<>(
+            new TypeReference<Map<String, BigDecimal>>() {
+            }, decimals::add);
+        decimalDecoder.feed(amounts.getBytes(StandardCharsets.UTF_8));
+        decimalDecoder.end();
+        Assert.assertEquals(new BigDecimal("12345678901234567.891"), decimals.get(0).get("amount"));
+        Assert.assertEquals(new BigDecimal("-1.10E-30"), decimals.get(1).get("amount"));
+        Assert.assertEquals(JacksonUtil.from("[" + amounts.replace('\n', ',') + "]",
+            new TypeReference<List<Map<String, BigDecimal>>>() {
+            }), decimals);
+        List<Map<String, Double>> doubles = new ArrayList<>();
+        JacksonAsyncDecoder<Map<String, Double>> doubleDecoder = new JacksonAsyncDecoder<>(
+            new TypeReference<Map<String, Double>>() {
+            }, doubles::add);
+        doubleDecoder.feed("{\"a\":0.1,\"b\":NaN,\"c\":-Infinity}".getBytes(StandardCharsets.UTF_8));
+        doubleDecoder.end();
+        Assert.assertEquals(0.1, doubles.get(0).get("a"), 0);
+        Assert.assertTrue(doubles.get(0).get("b").isNaN());
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, doubles.get(0).get("c"), 0);
+        //未指定类型的目标与 JacksonUtil.from 一致，小数为 Double
+        String untyped = "{\"x\":1.5,\"y\":[2.25,3],\"z\":1e400}";
+        List<Map> maps = new ArrayList<>();
+        JacksonAsyncDecoder<Map> mapDecoder = new JacksonAsyncDecoder<>(Map.class, maps::add);
+        mapDecoder.feed(untyped.getBytes(StandardCharsets.UTF_8));
+        mapDecoder.end();
+        Assert.assertEquals(Double.class, maps.get(0).get("x").getClass());
+        Assert.assertEquals(JacksonUtil.from(untyped, Map.class), maps.get(0));
+        List<JsonNode> nodes = new ArrayList<>();
+        JacksonAsyncDecoder<JsonNode> nodeDecoder = new JacksonAsyncDecoder<>(JsonNode.class, nodes::add);
+        nodeDecoder.feed(untyped.getBytes(StandardCharsets.UTF_8));
+        nodeDecoder.end();
+        Assert.assertEquals(JacksonUtil.getObjectMapper().readTree(untyped), nodes.get(0));
+
+        JacksonAsyncDecoder<Person> partialDecoder = new JacksonAsyncDecoder<>(Person.class, p -> {
+        });
+        partialDecoder.feed("[{\"name\":".getBytes(StandardCharsets.UTF_8));
+        try {
+            partialDecoder.end();
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+
+    /**
+     * 测试按需逐条发布和逐条序列化的订阅者
+     */
+    @Test
+    public void testPublisherSubscriber() throws Exception {
+        Person person = Person.newPerson();
+        byte[] array = JacksonUtil.toBytes(Arrays.asList(person, person, person));
+        List<Person> persons = new ArrayList<>();
+        AtomicLong completed = new AtomicLong();
+        new JacksonPublisher<>(new ByteArrayInputStream(array), Person.class).subscribe(new Subscriber<Person>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Person p) {
+                persons.add(p);
+                Assert.assertEquals(0, completed.get());
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assert.fail(throwable.getMessage());
+            }
+
+            @Override
+            public void onComplete() {
+                completed.incrementAndGet();
+            }
+        });
+        Assert.assertEquals(3, persons.size());
+        Assert.assertEquals(1, completed.get());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            JacksonSubscriber<Person> arraySubscriber = new JacksonSubscriber<>(outputStream, false, 2);
+            new JacksonPublisher<>(new ByteArrayInputStream(array), Person.class, executor).subscribe(arraySubscriber);
+            arraySubscriber.getCompletion().get(10, TimeUnit.SECONDS);
+            Assert.assertArrayEquals(array, outputStream.toByteArray());
+
+            //逐条写入时不 flush，完成时 flush 一次
+            AtomicInteger flushes = new AtomicInteger();
+            ByteArrayOutputStream linesStream = new ByteArrayOutputStream() {
+                @Override
+                public void flush() {
+                    flushes.incrementAndGet();
+                }
+            };
+            JacksonSubscriber<Person> linesSubscriber = new JacksonSubscriber<>(linesStream, true);
+            new JacksonPublisher<>(new ByteArrayInputStream(array), Person.class, executor).subscribe(linesSubscriber);
+            linesSubscriber.getCompletion().get(10, TimeUnit.SECONDS);
+            String line = JacksonUtil.to(person) + "\n";
+            Assert.assertEquals(line + line + line, new String(linesStream.toByteArray(), StandardCharsets.UTF_8));
+            Assert.assertEquals(1, flushes.get());
+        } finally {
+            executor.shutdown();
+        }
+
+        JacksonSubscriber<Person> failedSubscriber = new JacksonSubscriber<>(new ByteArrayOutputStream(), false);
+        new JacksonPublisher<>(new ByteArrayInputStream("[{\"name\":}]".getBytes(StandardCharsets.UTF_8)),
+            Person.class).subscribe(failedSubscriber);
+        Assert.assertTrue(failedSubscriber.getCompletion().isCompletedExceptionally());
+    }
+
+    /**
+     * 测试缓冲区复用策略
+     */
+    @Test
+    public void testRecyclerPool() throws Exception {
+        Assert.assertSame(BufferRecyclers.getBufferRecycler(), JacksonRecyclerPool.THREAD_LOCAL.getBufferRecycler());
+        Assert.assertSame(JacksonRecyclerPool.SHARED.getBufferRecycler(), JacksonRecyclerPool.SHARED.getBufferRecycler());
+        //平台线程上 AUTO 与 Jackson 默认一致
+        Assert.assertSame(BufferRecyclers.getBufferRecycler(), JacksonRecyclerPool.AUTO.getBufferRecycler());
+
+        ObjectMapper sharedMapper = JacksonUtil.initMapper(JacksonRecyclerPool.SHARED);
+        Assert.assertSame(JacksonRecyclerPool.SHARED.getBufferRecycler(), sharedMapper.getFactory()._getBufferRecycler());
+        Assert.assertSame(JacksonRecyclerPool.SHARED.getBufferRecycler(),
+            sharedMapper.copy().getFactory()._getBufferRecycler());
+
+        Person person = Person.newPerson();
+        String expected = JacksonUtil.to(person);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> sharedMapper.writeValueAsString(person)));
+            }
+            for (Future<String> future : futures) {
+                Assert.assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 测试字符串值规范化
+     */
+    @Test
+    public void testStringCanonicalization() {
+        String json = "[{\"name\":\"CN\",\"trait\":[\"ok\",\"ok\"],\"cards\":{\"k\":\"ok\"}},{\"name\":\"CN\"},{\"name\":\"US\"}]";
+        StringCanonicalizer canonicalizer = new StringCanonicalizer();
+        JacksonUtil.enableStringCanonicalization(canonicalizer);
+        List<Person> persons = JacksonUtil.fromList(json, Person.class);
+        Assert.assertSame(persons.get(0).getName(), persons.get(1).getName());
+        Assert.assertEquals("US", persons.get(2).getName());
+        Assert.assertSame(persons.get(0).getTrait().get(0), persons.get(0).getTrait().get(1));
+        Assert.assertSame(persons.get(0).getTrait().get(0), persons.get(0).getCards().get("k"));
+        Assert.assertEquals(3, canonicalizer.getHits());
+
+        StringCanonicalizer another = new StringCanonicalizer();
+        JacksonUtil.enableStringCanonicalization(another);
+        JacksonUtil.fromList(json, Person.class);
+        Assert.assertTrue(another.getHits() > 0);
+    }
+
+    /**
+     * 测试基本类型数组的解析和序列化
+     */
+    @Test
+    public void testPrimitiveArray() {
+        int[] ints = new int[100];
+        long[] longs = new long[100];
+        double[] doubles = new double[100];
+        for (int i = 0; i < 100; i++) {
+            ints[i] = i - 50;
+            longs[i] = Long.MAX_VALUE - i;
+            doubles[i] = i / 4.0;
+        }
+        String intJson = JacksonUtil.toJson(ints);
+        String longJson = JacksonUtil.toJson(longs);
+        String doubleJson = JacksonUtil.toJson(doubles);
+        Assert.assertEquals(JacksonUtil.to(ints), intJson);
+        Assert.assertEquals(JacksonUtil.to(longs), longJson);
+        Assert.assertEquals(JacksonUtil.to(doubles), doubleJson);
+
+        Assert.assertArrayEquals(ints, JacksonUtil.fromIntArray(intJson));
+        Assert.assertArrayEquals(ints, JacksonUtil.fromIntArray(intJson.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertArrayEquals(ints,
+            JacksonUtil.fromIntArray(new ByteArrayInputStream(intJson.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertArrayEquals(longs, JacksonUtil.fromLongArray(longJson));
+        Assert.assertArrayEquals(longs, JacksonUtil.fromLongArray(longJson.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertArrayEquals(longs,
+            JacksonUtil.fromLongArray(new ByteArrayInputStream(longJson.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertArrayEquals(doubles, JacksonUtil.fromDoubleArray(doubleJson), 0);
+        Assert.assertArrayEquals(doubles, JacksonUtil.fromDoubleArray(doubleJson.getBytes(StandardCharsets.UTF_8)), 0);
+        Assert.assertArrayEquals(doubles,
+            JacksonUtil.fromDoubleArray(new ByteArrayInputStream(doubleJson.getBytes(StandardCharsets.UTF_8))), 0);
+
+        Assert.assertArrayEquals(new int[] {1, 0, 3}, JacksonUtil.fromIntArray("[1,null,3]"));
+        Assert.assertArrayEquals(new double[] {1, 2.5}, JacksonUtil.fromDoubleArray(" [1, 2.5] "), 0);
+        Assert.assertArrayEquals(new long[0], JacksonUtil.fromLongArray("[]"));
+        Assert.assertNull(JacksonUtil.fromIntArray("null"));
+        Assert.assertNull(JacksonUtil.fromIntArray(""));
+        Assert.assertEquals("null", JacksonUtil.toJson((int[])null));
+        try {
+            JacksonUtil.fromIntArray("[1,");
+            Assert.fail();
+        } catch (JacksonException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
+
+    /**
+     * 测试json校验
+     */
+    @Test
+    public void testIsJson() {
+        String json = "{\"a\":[1,{\"b\":null}],\"c\":\"x\"}";
+        Assert.assertTrue(JacksonUtil.isJson(json));
+        Assert.assertTrue(JacksonUtil.isJson(json.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(JacksonUtil.isJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertTrue(JacksonUtil.isJson("[1,2]"));
+        Assert.assertTrue(JacksonUtil.isJson("{'a':1}"));
+        Assert.assertFalse(JacksonUtil.isJson(""));
+        Assert.assertFalse(JacksonUtil.isJson("{\"a\":1,\"a\":2}"));
+        Assert.assertFalse(JacksonUtil.isJson("{} {}"));
+        Assert.assertFalse(JacksonUtil.isJson("{\"a\":".getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(-1, JacksonUtil.getJsonErrorOffset(json));
+        Assert.assertEquals(8, JacksonUtil.getJsonErrorOffset("{\"a\":1 x}"));
+        Assert.assertEquals(8, JacksonUtil.getJsonErrorOffset("{\"a\":1 x}".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(3, JacksonUtil.getJsonErrorOffset("{} {}"));
+        for (String word : Arrays.asList("hello", "OK", "nope", "TRUE", "Null", "1abc", "+1")) {
+            Assert.assertFalse(word, JacksonUtil.isJson(word));
+        }
+        for (String scalar : Arrays.asList("\"hello\"", "'x'", "true", "false", "null", "-1.5e3", "007", "NaN",
+            "-Infinity", " /* c */ 1")) {
+            Assert.assertTrue(scalar, JacksonUtil.isJson(scalar));
+        }
+    }
+
+    /**
+     * 测试判断json顶层值的类型
+     */
+    @Test
+    public void testDetect() {
+        Assert.assertEquals(JsonType.OBJECT, JacksonUtil.detect(" \n{\"a\":1}"));
+        Assert.assertEquals(JsonType.ARRAY, JacksonUtil.detect("// c\n[1]"));
+        Assert.assertEquals(JsonType.SCALAR, JacksonUtil.detect("\"x\""));
+        Assert.assertEquals(JsonType.SCALAR, JacksonUtil.detect("-1.5"));
+        Assert.assertEquals(JsonType.INVALID, JacksonUtil.detect(""));
+        Assert.assertEquals(JsonType.INVALID, JacksonUtil.detect("<xml/>"));
+        Assert.assertEquals(JsonType.OBJECT, JacksonUtil.detect("{\"a\":"));
+        Assert.assertEquals(JsonType.OBJECT, JacksonUtil.detect(new byte[] {(byte)0xEF, (byte)0xBB, (byte)0xBF, '{', '}'}));
+
+        Assert.assertEquals(JsonType.OBJECT, JacksonUtil.detect("{\"a\":[1]}", true));
+        Assert.assertEquals(JsonType.ARRAY, JacksonUtil.detect("[1,2]".getBytes(StandardCharsets.UTF_8), true));
+        Assert.assertEquals(JsonType.SCALAR, JacksonUtil.detect("true", true));
+        Assert.assertEquals(JsonType.INVALID, JacksonUtil.detect("{\"a\":", true));
+        Assert.assertEquals(JsonType.INVALID, JacksonUtil.detect("[1]]".getBytes(StandardCharsets.UTF_8), true));
+        Assert.assertEquals(JsonType.ARRAY, JacksonUtil.detect("/* c */ [1]", true));
+    }
+
+    /**
+     * 测试反序列化结果缓存
+     */
+    @Test
+    public void testParseResultCache() {
+        ParseResultCache cache = new ParseResultCache(2, 64).immutable(Person.class);
+        JacksonUtil.enableParseResultCache(cache);
+        try {
+            String json = "{\"name\":\"a\"}";
+            Person first = JacksonUtil.from(json, Person.class);
+            Assert.assertEquals("a", first.getName());
+            Assert.assertSame(first, JacksonUtil.from(new String(json.toCharArray()), Person.class));
+            //未声明为不可变的类型不缓存
+            Assert.assertNotSame(JacksonUtil.from(json, Map.class), JacksonUtil.from(json, Map.class));
+            //超过总字符数的json不缓存
+            String large = "{\"name\":\"" + new String(new char[64]).replace('\0', 'x') + "\"}";
+            Assert.assertNotSame(JacksonUtil.from(large, Person.class), JacksonUtil.from(large, Person.class));
+
+            //超过条目数时淘汰，淘汰哪一条取决于所在分段
+            JacksonUtil.from("{\"name\":\"b\"}", Person.class);
+            JacksonUtil.from("{\"name\":\"c\"}", Person.class);
+            Assert.assertEquals(1, cache.getHits());
+            Assert.assertEquals(3, cache.getMisses());
+            Assert.assertTrue(cache.getEvictions() >= 1);
+            Assert.assertTrue(cache.size() <= 2);
+            Assert.assertEquals(3, cache.size() + cache.getEvictions());
+
+            cache.clear();
+            Assert.assertEquals(0, cache.size());
+            Assert.assertEquals(0, cache.getHits() + cache.getMisses() + cache.getEvictions());
+            Assert.assertNotSame(first, JacksonUtil.from(json, Person.class));
+            Assert.assertEquals(1, cache.getMisses());
+        } finally {
+            JacksonUtil.enableParseResultCache(null);
+        }
+    }
+
+    /**
+     * 测试只读json文档
+     */
+    @Test
+    public void testDocument() {
+        String json = "{\"code\":\"1\",\"id\":12,\"order\":{\"items\":[{\"sku\":\"a\",\"num\":2},"
+            + "{\"sku\":\"b\",\"num\":3}],\"a/b\":true},\"price\":1.25,\"name\":\"中文\\n\",\"empty\":null}";
+        JacksonDocument document = JacksonUtil.parseDocument(json);
+        Assert.assertEquals(15, document.size());
+        Assert.assertEquals("1", document.getAsString("code"));
+        Assert.assertEquals(1, document.getAsInt("code"));
+        Assert.assertEquals(12L, document.getAsLong("id"));
+        Assert.assertEquals(1.25, document.getAsDouble("price"), 0);
+        Assert.assertEquals(new BigDecimal("1.25"), document.getAsBigDecimal("price"));
+        Assert.assertEquals(BigInteger.valueOf(12), document.getAsBigInteger("id"));
+        Assert.assertEquals((byte)12, document.getAsByte("id"));
+        Assert.assertEquals("中文\n", document.getAsString("name"));
+        Assert.assertEquals(JacksonUtil.getAsString(json, "empty"), document.getAsString("empty"));
+        Assert.assertTrue(document.contains("empty"));
+        Assert.assertFalse(document.contains("sku"));
+        Assert.assertEquals(0, document.getAsInt("missing"));
+        Assert.assertEquals(new BigDecimal("0.00"), document.getAsBigDecimal("missing"));
+        Assert.assertEquals("b", document.getAsString(JacksonUtil.compilePath("/order/items/1/sku")));
+        Assert.assertEquals(3, document.getAsInt(JacksonUtil.compilePath("/order/items/1/num")));
+        Assert.assertTrue(document.getAsBoolean(JacksonUtil.compilePath("/order/a~1b")));
+        Assert.assertNull(document.getAsString(JacksonUtil.compilePath("/order/items/2/sku")));
+        Assert.assertEquals("a", document.getAsJsonObject(JacksonUtil.compilePath("/order/items/0")).get("sku").asText());
+        Assert.assertEquals(2, document.getAsList(JacksonUtil.compilePath("/order/items"), Map.class).size());
+        Assert.assertEquals(JacksonUtil.from(JacksonUtil.to(document.getAsObject("order", Map.class)), Map.class),
+            JacksonUtil.getAsObject(json, "order", Map.class));
+        //顶层值为数组时只能按路径取值
+        JacksonDocument array = JacksonUtil.parseDocument("[1,[2,3],{\"a\":4}]".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(0, array.getAsInt("a"));
+        Assert.assertEquals(3, array.getAsInt(JacksonUtil.compilePath("/1/1")));
+        Assert.assertEquals(4, array.getAsInt(JacksonUtil.compilePath("/2/a")));
+        Assert.assertNull(JacksonUtil.parseDocument(""));
+        Assert.assertThrows(FormativeException.class, () -> JacksonUtil.parseDocument("{\"a\":[1,2"));
+        Assert.assertThrows(FormativeException.class, () -> document.getAsInt("name"));
+    }
 }